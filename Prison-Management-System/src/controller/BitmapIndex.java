@@ -0,0 +1,98 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import model.CategoryDictionary;
+
+/**
+ * BitmapIndex - Secondary index for one low-cardinality field
+ * Maps each dictionary code (e.g. the code of "Active", "Fraud", "Male") to
+ * the RowBitmap of rows holding that value. Codes are small and dense, so the
+ * bitmaps live in a plain array indexed by code
+ *
+ * @author Anjal Bhattarai
+ */
+public class BitmapIndex {
+
+    private final CategoryDictionary dictionary;
+    private RowBitmap[] bitmaps = new RowBitmap[8];
+
+    public BitmapIndex(CategoryDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public void add(int code, int row) {
+        if (code == CategoryDictionary.NO_CODE) {
+            return;
+        }
+        if (code >= bitmaps.length) {
+            bitmaps = Arrays.copyOf(bitmaps, Math.max(code + 1, bitmaps.length * 2));
+        }
+        if (bitmaps[code] == null) {
+            bitmaps[code] = new RowBitmap();
+        }
+        bitmaps[code].add(row);
+    }
+
+    public void remove(int code, int row) {
+        if (code >= 0 && code < bitmaps.length && bitmaps[code] != null) {
+            bitmaps[code].remove(row);
+        }
+    }
+
+    /**
+     * Rows holding this code (live bitmap - do not modify)
+     */
+    public RowBitmap rowsFor(int code) {
+        if (code >= 0 && code < bitmaps.length && bitmaps[code] != null) {
+            return bitmaps[code];
+        }
+        return new RowBitmap();
+    }
+
+    /**
+     * Rows holding exactly this value (live bitmap - do not modify)
+     */
+    public RowBitmap rowsFor(String value) {
+        return rowsFor(dictionary.codeOf(value));
+    }
+
+    /**
+     * Rows holding any of these values (OR of their bitmaps)
+     */
+    public RowBitmap rowsForAny(String... values) {
+        RowBitmap result = new RowBitmap();
+        for (String value : values) {
+            result = result.or(rowsFor(value));
+        }
+        return result;
+    }
+
+    /**
+     * Number of rows holding this value - no scan, just the bitmap cardinality
+     */
+    public int count(String value) {
+        return rowsFor(value).cardinality();
+    }
+
+    /**
+     * Values that currently have at least one row
+     */
+    public LinkedList<String> values() {
+        LinkedList<String> result = new LinkedList<>();
+        for (int code = 0; code < bitmaps.length; code++) {
+            if (bitmaps[code] != null && !bitmaps[code].isEmpty()) {
+                result.add(dictionary.decode(code));
+            }
+        }
+        return result;
+    }
+
+    public String getFieldName() {
+        return dictionary.getFieldName();
+    }
+
+    public void clear() {
+        Arrays.fill(bitmaps, null);
+    }
+}
@@ -0,0 +1,264 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Locale;
+import model.PrisonerModel;
+
+/**
+ * BkTree - Edit-distance index over the words of prisoner names
+ * Each node holds one lowercased name token and the IDs of prisoners whose
+ * name contains it; children are keyed by their Levenshtein distance to the node
+ *
+ * By the triangle inequality, a query within maxDistance of some token can only
+ * be under a child whose edge distance lies in [d - maxDistance, d + maxDistance],
+ * so a lookup visits a small part of the tree instead of every record.
+ * "shresta" finds "shrestha" (distance 1), "bahdur" finds "bahadur" (distance 1)
+ *
+ * Removed tokens stay in the tree as empty nodes (they still route searches)
+ * and are reused if the token is added again
+ *
+ * @author Anjal Bhattarai
+ */
+public class BkTree {
+
+    private Node root;
+    private int tokenCount = 0;  // distinct tokens that currently have prisoners
+
+    /**
+     * Index every word of the prisoner's name
+     */
+    public void add(PrisonerModel prisoner) {
+        for (String token : tokensOf(prisoner.getName())) {
+            Node node = findOrInsert(token);
+            if (node.size == 0) {
+                tokenCount++;
+            }
+            node.addId(prisoner.getPrisonerId());
+        }
+    }
+
+    /**
+     * Remove the prisoner's name words (must be called before the name changes)
+     */
+    public void remove(PrisonerModel prisoner) {
+        for (String token : tokensOf(prisoner.getName())) {
+            Node node = find(token);
+            if (node != null && node.removeId(prisoner.getPrisonerId()) && node.size == 0) {
+                tokenCount--;
+            }
+        }
+    }
+
+    /**
+     * IDs of prisoners having a name word within maxDistance edits of the term
+     * @param term Single word (lowercased before lookup)
+     * @param maxDistance Largest Levenshtein distance accepted
+     * @return Prisoner ID → smallest distance found for that prisoner (-1 = no match)
+     */
+    public IntIntHashMap search(String term, int maxDistance) {
+        IntIntHashMap hits = new IntIntHashMap(-1);
+        if (root == null) {
+            return hits;
+        }
+        String query = term.trim().toLowerCase(Locale.ROOT);
+        ArrayList<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            int d = distance(query, node.token);
+            if (d <= maxDistance) {
+                for (int i = 0; i < node.size; i++) {
+                    int previous = hits.get(node.ids[i]);
+                    if (previous < 0 || d < previous) {
+                        hits.put(node.ids[i], d);
+                    }
+                }
+            }
+            if (node.children != null) {
+                for (int edge = Math.max(1, d - maxDistance); edge <= d + maxDistance; edge++) {
+                    Node child = node.children.get(edge);
+                    if (child != null) {
+                        stack.add(child);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Prisoners whose name matches every word of the search term within maxDistance
+     * edits, closest first (sum of word distances, then ascending ID)
+     */
+    public LinkedList<PrisonerModel> searchNames(PrisonerIndex index, String searchTerm, int maxDistance) {
+        IntIntHashMap total = null;
+        for (String token : tokensOf(searchTerm)) {
+            IntIntHashMap hits = search(token, maxDistance);
+            if (total == null) {
+                total = hits;
+            } else {
+                // Keep prisoners that matched every word so far
+                IntIntHashMap both = new IntIntHashMap(-1);
+                for (int id : hits.keys()) {
+                    int previous = total.get(id);
+                    if (previous >= 0) {
+                        both.put(id, previous + hits.get(id));
+                    }
+                }
+                total = both;
+            }
+        }
+
+        LinkedList<PrisonerModel> results = new LinkedList<>();
+        if (total == null || total.isEmpty()) {
+            return results;
+        }
+        // Sort by (score, id) packed into one long: score in the high half
+        int[] ids = total.keys();
+        long[] order = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            order[i] = ((long) total.get(ids[i]) << 32) | (ids[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(order);
+        for (long packed : order) {
+            PrisonerModel p = index.getById((int) packed);
+            if (p != null) {
+                results.add(p);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of distinct name words currently indexed
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    public void clear() {
+        root = null;
+        tokenCount = 0;
+    }
+
+    /**
+     * Lowercased words of a name (split on anything that is not a letter or digit)
+     */
+    public static String[] tokensOf(String name) {
+        if (name == null) {
+            return new String[0];
+        }
+        String[] parts = name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int count = 0;
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                parts[count++] = part;
+            }
+        }
+        return Arrays.copyOf(parts, count);
+    }
+
+    /**
+     * Levenshtein distance (insert, delete, substitute) - O(|a| * |b|) with two rows
+     */
+    public static int distance(String a, String b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (ca == b.charAt(j - 1)) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    // ===== Tree maintenance =====
+
+    private Node find(String token) {
+        Node node = root;
+        while (node != null) {
+            int d = distance(token, node.token);
+            if (d == 0) {
+                return node;
+            }
+            node = node.children == null ? null : node.children.get(d);
+        }
+        return null;
+    }
+
+    private Node findOrInsert(String token) {
+        if (root == null) {
+            root = new Node(token);
+            return root;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(token, node.token);
+            if (d == 0) {
+                return node;
+            }
+            if (node.children == null) {
+                node.children = new IntObjectHashMap<>(4);
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                child = new Node(token);
+                node.children.put(d, child);
+                return child;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * One distinct token with the sorted IDs of the prisoners that use it
+     */
+    private static final class Node {
+        final String token;
+        IntObjectHashMap<Node> children;  // edge distance → child
+        int[] ids = new int[2];
+        int size = 0;
+
+        Node(String token) {
+            this.token = token;
+        }
+
+        void addId(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -(pos + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean removeId(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -4,8 +4,9 @@
  */
 package controller;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.LinkedList;
+import model.CategoryDictionary;
 import model.PrisonerModel;
 
 /**
@@ -21,14 +22,20 @@ public class CRUD {
     // Maximum number of recent activities to track
     private static final int MAX_RECENT = 5;
     
+    // Dictionary codes of the accepted genders - validation is an int compare
+    private static final int MALE = CategoryDictionary.GENDER.encode("Male");
+    private static final int FEMALE = CategoryDictionary.GENDER.encode("Female");
+    private static final int OTHER = CategoryDictionary.GENDER.encode("Other");
+    
     /**
      * CREATE - Add a new prisoner to the system
      * Returns OperationResult with success/failure status
      * No UI dependencies - view layer handles user feedback
      * 
-     * @param prisonDetails Main prisoner list
+     * @param index Lookup index holding every active prisoner
      * @param recentlyAddedQueue Queue tracking recent additions
-     * @param nextPrisonerId Current next available ID
+     * @param idAllocator Source of new prisoner IDs
+     * @param repository Store the change is written to first
      * @param name Prisoner name
      * @param age Prisoner age
      * @param gender Gender
@@ -40,15 +47,18 @@ public class CRUD {
      * @param prisonLocation Prison location
      * @param familyCode Family portal access code
      * @param status Prisoner status
+     * @param healthStatus Health status recorded at admission
      * @return OperationResult with prisoner ID on success, error message on failure
      */
-    public static OperationResult<Integer> addPrisoner(LinkedList<PrisonerModel> prisonDetails,
+    public static OperationResult<Integer> addPrisoner(PrisonerIndex index,
                                        SimpleQueue recentlyAddedQueue,
-                                       int nextPrisonerId,
+                                       PrisonerIdAllocator idAllocator,
+                                       PrisonerRepository repository,
                                        String name, int age, String gender, String address,
                                        String crimeType, String crimeDescription,
                                        LocalDate admissionDate, int sentenceDuration,
-                                       String prisonLocation, String familyCode, String photoPath, String status) {
+                                       String prisonLocation, String familyCode, String photoPath,
+                                       String status, String healthStatus) {
         try {
             // Validate name
             if (name == null || name.trim().isEmpty()) {
@@ -67,7 +77,7 @@ public class CRUD {
                 return OperationResult.failure("Age must be between 1 and 120");
             }
             
-            if (gender == null || (!gender.equals("Male") && !gender.equals("Female") && !gender.equals("Other"))) {
+            if (!isValidGender(gender)) {
                 return OperationResult.failure("Gender must be Male, Female, or Other");
             }
             
@@ -94,24 +104,30 @@ public class CRUD {
                 return OperationResult.failure("Admission date cannot be in future");
             }
             
-            // Check for duplicate names
-            for (PrisonerModel p : prisonDetails) {
-                if (p.getName().equalsIgnoreCase(name.trim())) {
-                    return OperationResult.failure("Prisoner with this name already exists");
-                }
+            if (healthStatus == null || healthStatus.trim().isEmpty()) {
+                return OperationResult.failure("Health status cannot be empty");
+            }
+            
+            // Check for duplicate names (name index, O(1))
+            if (index.isNameTaken(name, 0)) {
+                return OperationResult.failure("Prisoner with this name already exists");
             }
             
-            // Generate ID
-            int prisonerId = getNextAvailableId(prisonDetails, nextPrisonerId);
+            // Generate ID (O(1), from the allocator's high-water mark)
+            int prisonerId = idAllocator.allocate();
             
             // Create prisoner object
             PrisonerModel newPrisoner = new PrisonerModel(prisonerId, 
                 name.trim(), age, gender, address.trim(), crimeType, 
                 crimeDescription, admissionDate, sentenceDuration,
                 prisonLocation, familyCode, photoPath, status);
+            newPrisoner.setHealthStatus(healthStatus);
             
-            // Add to main list
-            prisonDetails.add(newPrisoner);
+            // Store first: the change only becomes visible once it is saved
+            repository.prisonerSaved(newPrisoner);
+            
+            // Add to the index (the controller publishes it in the next snapshot)
+            index.add(newPrisoner);
             
             // Update recent queue
             if (recentlyAddedQueue.size() >= MAX_RECENT) {
@@ -131,29 +147,29 @@ public class CRUD {
     
     /**
      * READ - Get prisoner by ID
+     * Uses the primary key index instead of scanning the list: O(1) average
      */
-    public static PrisonerModel getPrisonerById(LinkedList<PrisonerModel> prisonDetails, int id) {
-        for (PrisonerModel p : prisonDetails) {
-            if (p.getPrisonerId() == id) {
-                return p;
-            }
-        }
-        return null;
+    public static PrisonerModel getPrisonerById(PrisonerIndex index, int id) {
+        return index.getById(id);
     }
     
     /**
      * UPDATE - Update existing prisoner information
-     * Returns OperationResult with success/failure status
+     * Copy-on-write: the published record is never modified, a new one replaces it
+     * @param status New status, or null to keep the current one
+     * Returns OperationResult with the new record on success
      * No UI dependencies - view layer handles user feedback
      */
-    public static OperationResult<Boolean> updatePrisoner(LinkedList<PrisonerModel> prisonDetails,
+    public static OperationResult<PrisonerModel> updatePrisoner(PrisonerIndex index,
+                                         PrisonerRepository repository,
                                          int prisonerId, String name, int age, String gender,
                                          String address, String crimeType, String crimeDescription,
                                          LocalDate admissionDate, int sentenceDuration,
-                                         String prisonLocation, String familyCode, String photoPath) {
+                                         String prisonLocation, String familyCode, String photoPath,
+                                         String status) {
         try {
             // Find prisoner
-            PrisonerModel prisoner = getPrisonerById(prisonDetails, prisonerId);
+            PrisonerModel prisoner = getPrisonerById(index, prisonerId);
             if (prisoner == null) {
                 return OperationResult.failure("Prisoner with ID " + prisonerId + " not found");
             }
@@ -175,7 +191,7 @@ public class CRUD {
                 return OperationResult.failure("Age must be between 1 and 120");
             }
             
-            if (gender == null || (!gender.equals("Male") && !gender.equals("Female") && !gender.equals("Other"))) {
+            if (!isValidGender(gender)) {
                 return OperationResult.failure("Gender must be Male, Female, or Other");
             }
             
@@ -202,29 +218,26 @@ public class CRUD {
                 return OperationResult.failure("Admission date cannot be in future");
             }
             
-            // Check for duplicate names (excluding current prisoner)
-            for (PrisonerModel p : prisonDetails) {
-                if (p.getPrisonerId() != prisonerId && 
-                    p.getName().equalsIgnoreCase(name.trim())) {
-                    return OperationResult.failure("Another prisoner with this name already exists");
-                }
+            if (status != null && status.trim().isEmpty()) {
+                return OperationResult.failure("Status cannot be empty");
+            }
+            
+            // Check for duplicate names excluding current prisoner (name index, O(1))
+            if (index.isNameTaken(name, prisonerId)) {
+                return OperationResult.failure("Another prisoner with this name already exists");
             }
             
-            // Update fields
-            prisoner.setName(name.trim());
-            prisoner.setAge(age);
-            prisoner.setGender(gender);
-            prisoner.setAddress(address.trim());
-            prisoner.setCrimeType(crimeType);
-            prisoner.setCrimeDescription(crimeDescription);
-            prisoner.setAdmissionDate(admissionDate);
-            prisoner.setSentenceDuration(sentenceDuration);
-            prisoner.setPrisonLocation(prisonLocation);
-            prisoner.setFamilyCode(familyCode);
-            prisoner.setPhotoPath(photoPath);
+            // Build the replacement and store it before anything becomes visible
+            PrisonerModel updated = new PrisonerModel(prisonerId, name.trim(), age, gender, address.trim(),
+                crimeType, crimeDescription, admissionDate, sentenceDuration,
+                prisonLocation, familyCode, photoPath, status == null ? prisoner.getStatus() : status);
+            updated.setHealthStatus(prisoner.getHealthStatus());
+            repository.prisonerSaved(updated);
+            
+            index.replace(prisoner, updated);
             
             System.out.println("[CRUD] Successfully updated prisoner: " + name + " (ID: " + prisonerId + ")");
-            return OperationResult.success(true, 
+            return OperationResult.success(updated, 
                 "Prisoner updated successfully!\nName: " + name + "\nID: " + prisonerId);
             
         } catch (Exception e) {
@@ -233,39 +246,79 @@ public class CRUD {
         }
     }
     
+    /**
+     * UPDATE - Change only the status of a prisoner
+     * Copy-on-write like updatePrisoner; goes through the index so the status bitmap stays current
+     */
+    public static OperationResult<PrisonerModel> updatePrisonerStatus(PrisonerIndex index,
+                                                                      PrisonerRepository repository,
+                                                                      int prisonerId, String status) {
+        PrisonerModel prisoner = getPrisonerById(index, prisonerId);
+        if (prisoner == null) {
+            return OperationResult.failure("Prisoner with ID " + prisonerId + " not found");
+        }
+        if (status == null || status.trim().isEmpty()) {
+            return OperationResult.failure("Status cannot be empty");
+        }
+        try {
+            repository.prisonerStatusChanged(prisonerId, status);
+        } catch (IOException e) {
+            System.err.println("[CRUD] Error saving status change: " + e.getMessage());
+            return OperationResult.failure("Could not save status change", e.getMessage());
+        }
+        
+        PrisonerModel updated = copyOf(prisoner);
+        updated.setStatus(status);
+        index.replace(prisoner, updated);
+        return OperationResult.success(updated, "Status updated to " + status);
+    }
+    
+    private static PrisonerModel copyOf(PrisonerModel p) {
+        PrisonerModel copy = new PrisonerModel(p.getPrisonerId(), p.getName(), p.getAge(), p.getGender(),
+            p.getAddress(), p.getCrimeType(), p.getCrimeDescription(), p.getAdmissionDate(),
+            p.getSentenceDuration(), p.getPrisonLocation(), p.getFamilyCode(), p.getPhotoPath(), p.getStatus());
+        copy.setReleaseDate(p.getReleaseDate());
+        copy.setHealthStatus(p.getHealthStatus());
+        return copy;
+    }
+    
     /**
      * DELETE - Remove prisoner from system and push to trash bin (Stack)
      * Returns OperationResult with prisoner data on success
      * View layer should confirm deletion before calling this method
      */
-    public static OperationResult<PrisonerModel> deletePrisoner(LinkedList<PrisonerModel> prisonDetails, 
+    public static OperationResult<PrisonerModel> deletePrisoner(PrisonerIndex index,
                                          SimpleStack trashBin, 
+                                         PrisonerRepository repository,
                                          int prisonerId) {
         try {
-            PrisonerModel prisoner = getPrisonerById(prisonDetails, prisonerId);
+            PrisonerModel prisoner = getPrisonerById(index, prisonerId);
             if (prisoner == null) {
                 return OperationResult.failure("Prisoner with ID " + prisonerId + " not found");
             }
             
-            // Remove from list
-            boolean removed = prisonDetails.remove(prisoner);
-            
-            if (removed) {
-                // Push to trash bin (custom stack)
-                TrashBinOperation.pushToTrash(trashBin, prisoner);
-                
-                System.out.println("[CRUD] Prisoner moved to trash: " + prisoner.getName() + " (ID: " + prisonerId + ")");
-                return OperationResult.success(prisoner,
-                    "Prisoner moved to Trash Bin!\n\n" +
-                    "Name: " + prisoner.getName() + "\n" +
-                    "ID: " + prisoner.getPrisonerId() + "\n\n" +
-                    "Prisoners in trash: " + trashBin.size() + "\n" +
-                    "You can restore using the Restore button.");
-            } else {
-                System.err.println("[CRUD] Failed to remove prisoner from list");
-                return OperationResult.failure("Failed to remove prisoner from list");
+            // Check before storing: a full trash bin would reject the push after removal
+            if (trashBin.isFull()) {
+                return OperationResult.failure("Trash Bin is full (" + trashBin.size() + " prisoners).\n" +
+                    "Empty or restore from the Trash Bin before deleting.");
             }
             
+            repository.prisonerDeleted(prisonerId);
+            
+            // Remove from the index (the controller drops it from the next snapshot)
+            index.remove(prisoner);
+            
+            // Push to trash bin (custom stack)
+            TrashBinOperation.pushToTrash(trashBin, prisoner);
+            
+            System.out.println("[CRUD] Prisoner moved to trash: " + prisoner.getName() + " (ID: " + prisonerId + ")");
+            return OperationResult.success(prisoner,
+                "Prisoner moved to Trash Bin!\n\n" +
+                "Name: " + prisoner.getName() + "\n" +
+                "ID: " + prisoner.getPrisonerId() + "\n\n" +
+                "Prisoners in trash: " + trashBin.size() + "\n" +
+                "You can restore using the Restore button.");
+            
         } catch (Exception e) {
             System.err.println("[CRUD] Error deleting prisoner: " + e.getMessage());
             e.printStackTrace();
@@ -273,23 +326,6 @@ public class CRUD {
         }
     }
     
-    /**
-     * Helper: Get next available prisoner ID
-     */
-    public static int getNextAvailableId(LinkedList<PrisonerModel> prisonDetails, int nextPrisonerId) {
-        // Find max ID in current list
-        int maxId = 0;
-        for (PrisonerModel p : prisonDetails) {
-            if (p.getPrisonerId() > maxId) {
-                maxId = p.getPrisonerId();
-            }
-        }
-        // Return next available ID
-        int generatedId = Math.max(maxId + 1, nextPrisonerId);
-        System.out.println("Max ID in list: " + maxId + ", Next ID tracker: " + nextPrisonerId + " → Generated: " + generatedId);
-        return generatedId;
-    }
-    
     /**
      * Helper: Get recent activities string for display
      */
@@ -312,4 +348,10 @@ public class CRUD {
         activities.append("</html>");
         return activities.toString();
     }
+    
+    // codeOf never adds to the dictionary, so rejected input leaves no entry behind
+    private static boolean isValidGender(String gender) {
+        int code = CategoryDictionary.GENDER.codeOf(gender);
+        return code == MALE || code == FEMALE || code == OTHER;
+    }
 }
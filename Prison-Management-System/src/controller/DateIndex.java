@@ -0,0 +1,102 @@
+package controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import model.PrisonerModel;
+
+/**
+ * DateIndex - Ordered index of prisoners by one date field
+ * TreeMap keyed by epoch day; each day holds the prisoners with that date
+ *
+ * Range query [from, to] is a subMap walk: O(log n + k) for k results,
+ * already in date order
+ *
+ * @author Anjal Bhattarai
+ */
+public class DateIndex {
+
+    private final String fieldName;
+    private final TreeMap<Long, ArrayList<PrisonerModel>> byDay = new TreeMap<>();
+    private int size = 0;
+
+    public DateIndex(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public void add(LocalDate date, PrisonerModel prisoner) {
+        if (date == null) {
+            return;
+        }
+        byDay.computeIfAbsent(date.toEpochDay(), d -> new ArrayList<>(2)).add(prisoner);
+        size++;
+    }
+
+    /**
+     * Remove a prisoner filed under this date (pass the date the prisoner was added with)
+     */
+    public void remove(LocalDate date, PrisonerModel prisoner) {
+        if (date == null) {
+            return;
+        }
+        long day = date.toEpochDay();
+        ArrayList<PrisonerModel> list = byDay.get(day);
+        if (list != null && list.remove(prisoner)) {
+            size--;
+            if (list.isEmpty()) {
+                byDay.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Prisoners with from <= date <= to, in ascending date order - O(log n + k)
+     */
+    public LinkedList<PrisonerModel> between(LocalDate from, LocalDate to) {
+        LinkedList<PrisonerModel> result = new LinkedList<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (ArrayList<PrisonerModel> day : byDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            result.addAll(day);
+        }
+        return result;
+    }
+
+    /**
+     * Number of prisoners with from <= date <= to (no result list built)
+     */
+    public int countBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        int count = 0;
+        for (ArrayList<PrisonerModel> day : byDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            count += day.size();
+        }
+        return count;
+    }
+
+    /**
+     * Earliest indexed date on or after a day, or null if none
+     */
+    public LocalDate firstOnOrAfter(LocalDate date) {
+        Map.Entry<Long, ArrayList<PrisonerModel>> entry = byDay.ceilingEntry(date.toEpochDay());
+        return entry == null ? null : LocalDate.ofEpochDay(entry.getKey());
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        byDay.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,262 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * FilePrisonerRepository - Snapshot + write-ahead log in a data directory
+ *
+ * prisoners.snap  last full checkpoint (SnapshotStore)
+ * prisoners.wal   every change since that checkpoint (WriteAheadLog, one fsync per change)
+ *
+ * load() reads the snapshot and replays the log tail on top of it. Each change
+ * is appended and fsynced before the controller applies it. Once the log passes
+ * -Dprison.checkpointBytes (default 1 MiB) wantsCompaction() asks the
+ * controller for a saveAll, which writes a new snapshot and empties the log
+ *
+ * If the snapshot is written but the log cannot be reset, the log still has
+ * the old generation and load() would discard anything appended to it as
+ * already checkpointed. The repository then refuses every further change
+ * until the application is restarted (the new snapshot holds everything so far)
+ *
+ * A log that continues from checkpoint 1 or later is only the tail of the
+ * history, so load() refuses to start if the snapshot file has gone missing
+ *
+ * @author Anjal Bhattarai
+ */
+public class FilePrisonerRepository implements PrisonerRepository {
+
+    private static final String LOG_FILE = "prisoners.wal";
+    private static final String SNAPSHOT_FILE = "prisoners.snap";
+
+    private final Path dataDir;
+    private final SnapshotStore snapshotStore;
+    private final long checkpointLogBytes = Long.getLong("prison.checkpointBytes", 1024 * 1024);
+    private WriteAheadLog wal;
+    private IOException failure; // set when a checkpoint left the log behind the snapshot
+
+    public FilePrisonerRepository(Path dataDir) {
+        this.dataDir = dataDir;
+        this.snapshotStore = new SnapshotStore(dataDir.resolve(SNAPSHOT_FILE));
+    }
+
+    @Override
+    public RepositoryState load() throws IOException {
+        long generation = 0;
+        RepositoryState stored = null;
+        if (snapshotStore.exists()) {
+            SnapshotStore.Image image = snapshotStore.read();
+            generation = image.getGeneration();
+            stored = image.getState();
+            System.out.println("[SNAPSHOT] Loaded generation " + generation + ": " +
+                               stored.getPrisoners().size() + " prisoner(s)");
+        }
+
+        WriteAheadLog log = new WriteAheadLog(dataDir.resolve(LOG_FILE));
+        try {
+            List<WriteAheadLog.Record> records = log.getRecoveredRecords();
+            if (!snapshotStore.exists() && log.getGeneration() > 0) {
+                // The log only holds changes made after checkpoint N - replaying them
+                // on an empty state would silently lose every earlier prisoner
+                throw new IOException(SNAPSHOT_FILE + " is missing but " + LOG_FILE + " continues from checkpoint " +
+                                      log.getGeneration() + "; restore the snapshot before starting");
+            }
+            if (log.getGeneration() < generation) {
+                // Crashed after writing the snapshot but before resetting the log: already included
+                System.out.println("[WAL] Log generation " + log.getGeneration() + " is older than snapshot " +
+                                   generation + ", discarding " + records.size() + " record(s)");
+                log.startGeneration(generation);
+            } else if (!records.isEmpty()) {
+                stored = replay(stored, records);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                log.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        wal = log;
+        return stored;
+    }
+
+    @Override
+    public void saveAll(RepositoryState state) throws IOException {
+        WriteAheadLog log = requireLog();
+        long next = log.getGeneration() + 1;
+        snapshotStore.write(next, state);  // on failure the old snapshot + full log are intact
+        try {
+            log.startGeneration(next);
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("[SNAPSHOT] Snapshot " + next + " written but the log could not be reset, " +
+                               "refusing further changes: " + e.getMessage());
+            throw new IOException("Snapshot saved but the log could not be reset", e);
+        }
+    }
+
+    @Override
+    public boolean wantsCompaction() {
+        try {
+            return wal != null && failure == null && wal.sizeBytes() >= checkpointLogBytes;
+        } catch (IOException e) {
+            System.err.println("[SNAPSHOT] Could not check log size: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void prisonerSaved(PrisonerModel prisoner) throws IOException {
+        requireLog().logPrisonerPut(prisoner);
+    }
+
+    @Override
+    public void prisonerStatusChanged(int prisonerId, String status) throws IOException {
+        requireLog().logPrisonerStatus(prisonerId, status);
+    }
+
+    @Override
+    public void prisonerDeleted(int prisonerId) throws IOException {
+        requireLog().logPrisonerDelete(prisonerId);
+    }
+
+    @Override
+    public void trashRestored(int prisonerId) throws IOException {
+        requireLog().logTrashRestore(prisonerId);
+    }
+
+    @Override
+    public void trashEmptied() throws IOException {
+        requireLog().logTrashEmpty();
+    }
+
+    @Override
+    public void visitRequestAdded(VisitRequest request) throws IOException {
+        requireLog().logVisitAdd(request);
+    }
+
+    @Override
+    public void visitRequestStatusChanged(int requestId, String status, String adminNotes) throws IOException {
+        requireLog().logVisitStatus(requestId, status, adminNotes);
+    }
+
+    /**
+     * The open log (null before load())
+     */
+    public WriteAheadLog getWriteAheadLog() {
+        return wal;
+    }
+
+    @Override
+    public String describe() {
+        return "files in " + dataDir.toAbsolutePath();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (wal != null) {
+            wal.close();
+            wal = null;
+        }
+    }
+
+    private WriteAheadLog requireLog() throws IOException {
+        if (failure != null) {
+            throw new IOException("Storage failed after a checkpoint, restart the application: " +
+                                  failure.getMessage(), failure);
+        }
+        if (wal == null) {
+            throw new IOException("Repository not loaded: " + dataDir);
+        }
+        return wal;
+    }
+
+    /**
+     * Apply logged changes, in order, on top of the snapshot state (or an empty one)
+     */
+    private static RepositoryState replay(RepositoryState base, List<WriteAheadLog.Record> records) {
+        LinkedHashMap<Integer, PrisonerModel> active = new LinkedHashMap<>();
+        ArrayList<PrisonerModel> trash = new ArrayList<>();
+        LinkedHashMap<Integer, VisitRequest> visits = new LinkedHashMap<>();
+        int nextId = 0;
+        if (base != null) {
+            for (PrisonerModel p : base.getPrisoners()) {
+                active.put(p.getPrisonerId(), p);
+            }
+            trash.addAll(base.getTrash());
+            for (VisitRequest request : base.getVisitRequests()) {
+                visits.put(request.getRequestId(), request);
+            }
+            nextId = base.getNextPrisonerId();
+        }
+
+        ModelCodec codec = ModelCodec.STATELESS;
+        int applied = 0;
+        try {
+            for (WriteAheadLog.Record record : records) {
+                ModelCodec.Reader in = record.reader();
+                switch (record.getType()) {
+                    case WriteAheadLog.PRISONER_PUT: {
+                        PrisonerModel p = codec.readPrisoner(in);
+                        active.put(p.getPrisonerId(), p);   // an update keeps its list position
+                        nextId = Math.max(nextId, p.getPrisonerId() + 1);
+                        break;
+                    }
+                    case WriteAheadLog.PRISONER_STATUS: {
+                        PrisonerModel p = active.get(in.readVarInt());
+                        String status = codec.readCategory(in, ModelCodec.PRISONER_STATUS);
+                        if (p != null) {
+                            p.setStatus(status);
+                        }
+                        break;
+                    }
+                    case WriteAheadLog.PRISONER_DELETE: {
+                        PrisonerModel p = active.remove(in.readVarInt());
+                        if (p != null) {
+                            trash.add(p);
+                        }
+                        break;
+                    }
+                    case WriteAheadLog.TRASH_RESTORE:
+                        if (!trash.isEmpty()) {
+                            PrisonerModel p = trash.remove(trash.size() - 1);
+                            active.put(p.getPrisonerId(), p);
+                        }
+                        break;
+                    case WriteAheadLog.TRASH_EMPTY:
+                        trash.clear();
+                        break;
+                    case WriteAheadLog.VISIT_ADD: {
+                        VisitRequest request = codec.readVisit(in);
+                        visits.put(request.getRequestId(), request);
+                        break;
+                    }
+                    case WriteAheadLog.VISIT_STATUS: {
+                        VisitRequest request = visits.get(in.readVarInt());
+                        String status = codec.readCategory(in, ModelCodec.VISIT_STATUS);
+                        String notes = in.readString();
+                        if (request != null) {
+                            request.setStatus(status);
+                            request.setAdminNotes(notes);
+                        }
+                        break;
+                    }
+                    default:
+                        System.err.println("[WAL] Skipping unknown record type " + record.getType());
+                }
+                applied++;
+            }
+        } catch (IOException e) {
+            System.err.println("[WAL] Replay stopped at record " + applied + ": " + e.getMessage());
+        }
+        System.out.println("[WAL] Replayed " + applied + " record(s): " + active.size() + " prisoner(s), " +
+                           trash.size() + " in trash, " + visits.size() + " visit request(s)");
+        return new RepositoryState(new ArrayList<>(active.values()), trash, new ArrayList<>(visits.values()), nextId);
+    }
+}
@@ -0,0 +1,59 @@
+package controller;
+
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * InMemoryPrisonerRepository - Stores nothing
+ * Every start begins from the sample data and changes last until the app exits
+ *
+ * @author Anjal Bhattarai
+ */
+public class InMemoryPrisonerRepository implements PrisonerRepository {
+
+    @Override
+    public RepositoryState load() {
+        return null;
+    }
+
+    @Override
+    public void saveAll(RepositoryState state) {
+    }
+
+    @Override
+    public void prisonerSaved(PrisonerModel prisoner) {
+    }
+
+    @Override
+    public void prisonerStatusChanged(int prisonerId, String status) {
+    }
+
+    @Override
+    public void prisonerDeleted(int prisonerId) {
+    }
+
+    @Override
+    public void trashRestored(int prisonerId) {
+    }
+
+    @Override
+    public void trashEmptied() {
+    }
+
+    @Override
+    public void visitRequestAdded(VisitRequest request) {
+    }
+
+    @Override
+    public void visitRequestStatusChanged(int requestId, String status, String adminNotes) {
+    }
+
+    @Override
+    public String describe() {
+        return "in-memory (not saved)";
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,214 @@
+package controller;
+
+import java.util.Arrays;
+
+/**
+ * IntIntHashMap - int → int map with no boxing at all
+ * Same layout as IntObjectHashMap (linear probing, backward-shift deletes)
+ * but the values are a primitive int[] too. Absent keys read as the
+ * missingValue given to the constructor (e.g. -1 for "no row")
+ *
+ * @author Anjal Bhattarai
+ */
+public class IntIntHashMap {
+
+    private static final int FREE = 0;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;         // entries in the table (not counting key 0)
+    private int resizeAt;
+
+    private boolean hasZeroKey = false;
+    private int zeroValue;
+
+    /**
+     * @param missingValue Value returned by get/put/remove when a key is absent
+     */
+    public IntIntHashMap(int missingValue) {
+        this(missingValue, 16);
+    }
+
+    public IntIntHashMap(int missingValue, int expectedSize) {
+        this.missingValue = missingValue;
+        this.zeroValue = missingValue;
+        allocate(IntObjectHashMap.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Value for a key, or missingValue if absent
+     */
+    public int get(int key) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Associate a value with a key
+     * @return The previous value, or missingValue if the key was absent
+     */
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int previous = hasZeroKey ? zeroValue : missingValue;
+            zeroValue = value;
+            hasZeroKey = true;
+            return previous;
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Remove a key
+     * @return The removed value, or missingValue if the key was absent
+     */
+    public int remove(int key) {
+        if (key == FREE) {
+            int previous = hasZeroKey ? zeroValue : missingValue;
+            hasZeroKey = false;
+            zeroValue = missingValue;
+            return previous;
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Snapshot of all keys (unspecified order)
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = FREE;
+        }
+        for (int key : keys) {
+            if (key != FREE) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = missingValue;
+    }
+
+    /**
+     * Scramble the key bits so sequential IDs spread over the table
+     * (multiplicative hash with the golden-ratio constant)
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ===== Internals =====
+
+    private int slot(int key) {
+        return mix(key) & mask;
+    }
+
+    // Backward-shift deletion: move later entries of the probe run into the gap
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            int key = keys[i];
+            if (key == FREE) {
+                break;
+            }
+            int home = slot(key);
+            boolean between = (gap <= i) ? (gap < home && home <= i) : (gap < home || home <= i);
+            if (!between) {
+                keys[gap] = key;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != FREE) {
+                int i = slot(key);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
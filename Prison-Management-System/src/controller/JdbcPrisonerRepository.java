@@ -0,0 +1,388 @@
+package controller;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * JdbcPrisonerRepository - Prisoners and visit requests in database tables
+ * Intended for an embedded database in file mode, e.g.
+ *   -Dprison.repository=jdbc -Dprison.jdbcUrl=jdbc:h2:file:./prison-data/prison
+ * The H2 driver ships in lib/ and is on the project classpath; the SQL is
+ * plain SQL so other embedded engines work too
+ *
+ * Tables (created on first use):
+ *   prisoner       one row per prisoner; trash_seq is null for active prisoners,
+ *                  otherwise the position in the trash stack. list_seq keeps list order
+ *   visit_request  one row per request
+ *   prison_meta    next_prisoner_id (IDs of purged prisoners are never reused)
+ *
+ * Single-statement changes are auto-committed; prisonerSaved (row plus ID
+ * counter) and saveAll each run in one transaction
+ *
+ * @author Anjal Bhattarai
+ */
+public class JdbcPrisonerRepository implements PrisonerRepository {
+
+    private static final String PRISONER_COLUMNS =
+        "name, age, gender, address, crime_type, crime_description, admission_date, sentence_months, " +
+        "release_date, status, prison_location, health_status, family_code, photo_path";
+    private static final String NEXT_ID_KEY = "next_prisoner_id";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private Connection connection;
+    private long nextListSeq = 1;
+    private long nextTrashSeq = 1;
+
+    public JdbcPrisonerRepository(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    @Override
+    public RepositoryState load() throws IOException {
+        try {
+            connection = DriverManager.getConnection(url, user, password);
+            connection.setAutoCommit(true);
+            createTables();
+
+            List<PrisonerModel> prisoners = new ArrayList<>();
+            List<PrisonerModel> trash = new ArrayList<>();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT prisoner_id, " + PRISONER_COLUMNS +
+                     ", list_seq FROM prisoner WHERE trash_seq IS NULL ORDER BY list_seq")) {
+                while (rs.next()) {
+                    prisoners.add(readPrisoner(rs));
+                    nextListSeq = Math.max(nextListSeq, rs.getLong("list_seq") + 1);
+                }
+            }
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT prisoner_id, " + PRISONER_COLUMNS +
+                     ", list_seq, trash_seq FROM prisoner WHERE trash_seq IS NOT NULL ORDER BY trash_seq")) {
+                while (rs.next()) {
+                    trash.add(readPrisoner(rs));   // bottom → top
+                    nextListSeq = Math.max(nextListSeq, rs.getLong("list_seq") + 1);
+                    nextTrashSeq = Math.max(nextTrashSeq, rs.getLong("trash_seq") + 1);
+                }
+            }
+
+            List<VisitRequest> visits = new ArrayList<>();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT request_id, prisoner_id, prisoner_name, visitor_name, " +
+                     "relationship, preferred_date, purpose, status, requested_at, admin_notes " +
+                     "FROM visit_request ORDER BY request_id")) {
+                while (rs.next()) {
+                    Timestamp requested = rs.getTimestamp("requested_at");
+                    visits.add(new VisitRequest(rs.getInt("request_id"), rs.getInt("prisoner_id"),
+                        rs.getString("prisoner_name"), rs.getString("visitor_name"), rs.getString("relationship"),
+                        toLocalDate(rs.getDate("preferred_date")), rs.getString("purpose"), rs.getString("status"),
+                        requested == null ? null : requested.toLocalDateTime(), rs.getString("admin_notes")));
+                }
+            }
+
+            Long nextId = readNextId();
+            if (nextId == null && prisoners.isEmpty() && trash.isEmpty() && visits.isEmpty()) {
+                return null; // fresh database
+            }
+            System.out.println("[JDBC] Loaded " + prisoners.size() + " prisoner(s), " + trash.size() +
+                               " in trash, " + visits.size() + " visit request(s) from " + url);
+            return new RepositoryState(prisoners, trash, visits, nextId == null ? 0 : nextId.intValue());
+        } catch (SQLException e) {
+            throw new IOException("Cannot load from " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void saveAll(RepositoryState state) throws IOException {
+        Connection c = requireConnection();
+        try {
+            c.setAutoCommit(false);
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("DELETE FROM prisoner");
+                st.executeUpdate("DELETE FROM visit_request");
+                st.executeUpdate("DELETE FROM prison_meta");
+            }
+            nextListSeq = 1;
+            nextTrashSeq = 1;
+            try (PreparedStatement insert = c.prepareStatement(
+                     "INSERT INTO prisoner (" + PRISONER_COLUMNS + ", prisoner_id, list_seq, trash_seq) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (PrisonerModel p : state.getPrisoners()) {
+                    bindPrisoner(insert, p);
+                    insert.setLong(16, nextListSeq++);
+                    insert.setNull(17, java.sql.Types.BIGINT);
+                    insert.addBatch();
+                }
+                for (PrisonerModel p : state.getTrash()) {
+                    bindPrisoner(insert, p);
+                    insert.setLong(16, nextListSeq++);
+                    insert.setLong(17, nextTrashSeq++);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = c.prepareStatement(insertVisitSql())) {
+                for (VisitRequest request : state.getVisitRequests()) {
+                    bindVisit(insert, request);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = c.prepareStatement(
+                     "INSERT INTO prison_meta (meta_key, meta_value) VALUES (?, ?)")) {
+                insert.setString(1, NEXT_ID_KEY);
+                insert.setLong(2, state.getNextPrisonerId());
+                insert.executeUpdate();
+            }
+            c.commit();
+        } catch (SQLException e) {
+            rollback(c);
+            throw new IOException("Cannot save to " + url + ": " + e.getMessage(), e);
+        } finally {
+            restoreAutoCommit(c);
+        }
+    }
+
+    @Override
+    public void prisonerSaved(PrisonerModel p) throws IOException {
+        Connection c = requireConnection();
+        long listSeq = nextListSeq;
+        try {
+            // Update-or-insert plus the ID counter: all of it or none of it
+            c.setAutoCommit(false);
+            int updated;
+            try (PreparedStatement update = c.prepareStatement(
+                     "UPDATE prisoner SET name = ?, age = ?, gender = ?, address = ?, crime_type = ?, " +
+                     "crime_description = ?, admission_date = ?, sentence_months = ?, release_date = ?, " +
+                     "status = ?, prison_location = ?, health_status = ?, family_code = ?, photo_path = ? " +
+                     "WHERE prisoner_id = ?")) {
+                bindPrisoner(update, p);
+                updated = update.executeUpdate();
+            }
+            if (updated == 0) {
+                try (PreparedStatement insert = c.prepareStatement(
+                         "INSERT INTO prisoner (" + PRISONER_COLUMNS + ", prisoner_id, list_seq) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    bindPrisoner(insert, p);
+                    insert.setLong(16, listSeq++);
+                    insert.executeUpdate();
+                }
+                raiseNextId(p.getPrisonerId() + 1);
+            }
+            c.commit();
+            nextListSeq = listSeq;
+        } catch (SQLException e) {
+            rollback(c);
+            throw new IOException("Cannot save prisoner " + p.getPrisonerId() + ": " + e.getMessage(), e);
+        } finally {
+            restoreAutoCommit(c);
+        }
+    }
+
+    @Override
+    public void prisonerStatusChanged(int prisonerId, String status) throws IOException {
+        execute("UPDATE prisoner SET status = ? WHERE prisoner_id = ?", status, prisonerId);
+    }
+
+    @Override
+    public void prisonerDeleted(int prisonerId) throws IOException {
+        execute("UPDATE prisoner SET trash_seq = ? WHERE prisoner_id = ?", nextTrashSeq++, prisonerId);
+    }
+
+    @Override
+    public void trashRestored(int prisonerId) throws IOException {
+        execute("UPDATE prisoner SET trash_seq = NULL, list_seq = ? WHERE prisoner_id = ?", nextListSeq++, prisonerId);
+    }
+
+    @Override
+    public void trashEmptied() throws IOException {
+        execute("DELETE FROM prisoner WHERE trash_seq IS NOT NULL");
+    }
+
+    @Override
+    public void visitRequestAdded(VisitRequest request) throws IOException {
+        Connection c = requireConnection();
+        try (PreparedStatement insert = c.prepareStatement(insertVisitSql())) {
+            bindVisit(insert, request);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Cannot save visit request " + request.getRequestId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void visitRequestStatusChanged(int requestId, String status, String adminNotes) throws IOException {
+        execute("UPDATE visit_request SET status = ?, admin_notes = ? WHERE request_id = ?", status, adminNotes, requestId);
+    }
+
+    @Override
+    public String describe() {
+        return "database " + url;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new IOException("Error closing " + url + ": " + e.getMessage(), e);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    // ===== Internals =====
+
+    private Connection requireConnection() throws IOException {
+        if (connection == null) {
+            throw new IOException("Repository not loaded: " + url);
+        }
+        return connection;
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS prisoner (" +
+                "prisoner_id INT PRIMARY KEY, name VARCHAR(100) NOT NULL, age INT, gender VARCHAR(16), " +
+                "address VARCHAR(200), crime_type VARCHAR(100), crime_description VARCHAR(4000), " +
+                "admission_date DATE, sentence_months INT, release_date DATE, status VARCHAR(50), " +
+                "prison_location VARCHAR(100), health_status VARCHAR(50), family_code VARCHAR(50), " +
+                "photo_path VARCHAR(1000), list_seq BIGINT NOT NULL, trash_seq BIGINT)");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS visit_request (" +
+                "request_id INT PRIMARY KEY, prisoner_id INT, prisoner_name VARCHAR(100), " +
+                "visitor_name VARCHAR(100), relationship VARCHAR(50), preferred_date DATE, " +
+                "purpose VARCHAR(1000), status VARCHAR(20), requested_at TIMESTAMP, admin_notes VARCHAR(1000))");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS prison_meta (" +
+                "meta_key VARCHAR(50) PRIMARY KEY, meta_value BIGINT)");
+        }
+    }
+
+    private Long readNextId() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                 "SELECT meta_value FROM prison_meta WHERE meta_key = ?")) {
+            query.setString(1, NEXT_ID_KEY);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private void raiseNextId(int candidate) throws SQLException {
+        Long current = readNextId();
+        if (current == null) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO prison_meta (meta_key, meta_value) VALUES (?, ?)")) {
+                insert.setString(1, NEXT_ID_KEY);
+                insert.setLong(2, candidate);
+                insert.executeUpdate();
+            }
+        } else if (candidate > current) {
+            try (PreparedStatement update = connection.prepareStatement(
+                     "UPDATE prison_meta SET meta_value = ? WHERE meta_key = ?")) {
+                update.setLong(1, candidate);
+                update.setString(2, NEXT_ID_KEY);
+                update.executeUpdate();
+            }
+        }
+    }
+
+    private void execute(String sql, Object... params) throws IOException {
+        Connection c = requireConnection();
+        try (PreparedStatement st = c.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                st.setObject(i + 1, params[i]);
+            }
+            st.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Database update failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Binds parameters 1-14 (PRISONER_COLUMNS order) and 15 (prisoner_id)
+    private static void bindPrisoner(PreparedStatement st, PrisonerModel p) throws SQLException {
+        st.setString(1, p.getName());
+        st.setInt(2, p.getAge());
+        st.setString(3, p.getGender());
+        st.setString(4, p.getAddress());
+        st.setString(5, p.getCrimeType());
+        st.setString(6, p.getCrimeDescription());
+        st.setDate(7, toSqlDate(p.getAdmissionDate()));
+        st.setInt(8, p.getSentenceDuration());
+        st.setDate(9, toSqlDate(p.getReleaseDate()));
+        st.setString(10, p.getStatus());
+        st.setString(11, p.getPrisonLocation());
+        st.setString(12, p.getHealthStatus());
+        st.setString(13, p.getFamilyCode());
+        st.setString(14, p.getPhotoPath());
+        st.setInt(15, p.getPrisonerId());
+    }
+
+    private static PrisonerModel readPrisoner(ResultSet rs) throws SQLException {
+        PrisonerModel p = new PrisonerModel(rs.getInt("prisoner_id"), rs.getString("name"), rs.getInt("age"),
+            rs.getString("gender"), rs.getString("address"), rs.getString("crime_type"),
+            rs.getString("crime_description"), toLocalDate(rs.getDate("admission_date")),
+            rs.getInt("sentence_months"), rs.getString("prison_location"), rs.getString("family_code"),
+            rs.getString("photo_path"), rs.getString("status"));
+        p.setReleaseDate(toLocalDate(rs.getDate("release_date")));
+        p.setHealthStatus(rs.getString("health_status"));
+        return p;
+    }
+
+    private static String insertVisitSql() {
+        return "INSERT INTO visit_request (request_id, prisoner_id, prisoner_name, visitor_name, relationship, " +
+               "preferred_date, purpose, status, requested_at, admin_notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private static void bindVisit(PreparedStatement st, VisitRequest r) throws SQLException {
+        st.setInt(1, r.getRequestId());
+        st.setInt(2, r.getPrisonerId());
+        st.setString(3, r.getPrisonerName());
+        st.setString(4, r.getVisitorName());
+        st.setString(5, r.getRelationship());
+        st.setDate(6, toSqlDate(r.getPreferredDate()));
+        st.setString(7, r.getPurpose());
+        st.setString(8, r.getStatus());
+        st.setTimestamp(9, r.getRequestDateTime() == null ? null : Timestamp.valueOf(r.getRequestDateTime()));
+        st.setString(10, r.getAdminNotes());
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date == null ? null : Date.valueOf(date);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static void restoreAutoCommit(Connection c) {
+        try {
+            c.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("[JDBC] Could not restore auto-commit: " + e.getMessage());
+        }
+    }
+
+    private static void rollback(Connection c) {
+        try {
+            c.rollback();
+        } catch (SQLException e) {
+            System.err.println("[JDBC] Rollback failed: " + e.getMessage());
+        }
+    }
+}
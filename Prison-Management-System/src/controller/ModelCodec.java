@@ -0,0 +1,467 @@
+package controller;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.Checksum;
+import model.Activity;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * ModelCodec - Compact, schema-versioned binary encoding of the model classes
+ * Used by WriteAheadLog and SnapshotStore
+ *
+ * Encoding (schema 2):
+ *   ints      unsigned LEB128 varints (1 byte below 128)
+ *   strings   varint (UTF-8 length + 1), 0 = null, then the bytes
+ *   dates     varint (zigzag(epochDay) + 1), 0 = null
+ *   date-time date, then varint nano-of-day
+ *   category  varint: 0 = null, 1 = inline string follows, k = entry k - 2 of the field's table
+ *
+ * Only gender, prisoner status and visit status have fixed tables (append-only:
+ * a new schema may add entries at the end, never reorder). Every other category
+ * starts empty. A stream codec appends each inline value it sees, so a repeated
+ * crime type or jail costs one byte after its first use - its decoder must read
+ * records in the order they were written. STATELESS never learns values, so each
+ * record decodes on its own (log frames) and writes open categories inline.
+ * Schema 1 files (which fixed every category) are rejected
+ *
+ * Decoding is hand-written field by field: no reflection, and the only objects
+ * allocated are the results (model, strings, dates). Table hits return the shared
+ * String instance
+ *
+ * Not thread-safe except STATELESS; a stream codec encodes or decodes one stream
+ *
+ * @author Anjal Bhattarai
+ */
+public final class ModelCodec {
+
+    public static final int SCHEMA_VERSION = 2;
+
+    // ===== Categorical fields =====
+    public static final int GENDER = 0;
+    public static final int PRISONER_STATUS = 1;
+    public static final int CRIME_TYPE = 2;
+    public static final int PRISON_LOCATION = 3;
+    public static final int HEALTH_STATUS = 4;
+    public static final int VISIT_STATUS = 5;
+    public static final int RELATIONSHIP = 6;
+    public static final int ACTIVITY_ACTION = 7;
+
+    // Schema 2 tables - append only. Only the closed sets the code itself assigns are
+    // fixed; crime types, jails, health, relationships and activity actions are open
+    // lists and go inline (or through a stream codec's learned table)
+    private static final String[][] FIXED_VALUES = {
+        {"Male", "Female", "Other"},
+        {"Active", "Released", "Transferred", "Medical", "Solitary", "Parole", "Court Hearing"},
+        {},
+        {},
+        {},
+        {"Pending", "Approved", "Declined"},
+        {},
+        {}
+    };
+
+    private static final int NULL_CATEGORY = 0;
+    private static final int INLINE_CATEGORY = 1;
+
+    /** Codec with fixed tables only - shareable, every record self-contained */
+    public static final ModelCodec STATELESS = new ModelCodec(false);
+
+    private final boolean learning;
+    private final ArrayList<ArrayList<String>> values = new ArrayList<>();          // code → value
+    private final ArrayList<HashMap<String, Integer>> codes = new ArrayList<>();    // value → code
+
+    private ModelCodec(boolean learning) {
+        this.learning = learning;
+        for (String[] fixed : FIXED_VALUES) {
+            ArrayList<String> table = new ArrayList<>(Arrays.asList(fixed));
+            HashMap<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < fixed.length; i++) {
+                index.put(fixed[i], i);
+            }
+            values.add(table);
+            codes.add(index);
+        }
+    }
+
+    /**
+     * Codec for one stream (a snapshot file): learns new category values as it goes
+     * Use one instance to write the stream and a fresh one to read it back
+     */
+    public static ModelCodec newStream() {
+        return new ModelCodec(true);
+    }
+
+    // ===== PrisonerModel =====
+
+    public void writePrisoner(Writer out, PrisonerModel p) {
+        out.writeVarInt(p.getPrisonerId());
+        out.writeString(p.getName());
+        out.writeVarInt(p.getAge());
+        writeCategory(out, GENDER, p.getGender());
+        out.writeString(p.getAddress());
+        writeCategory(out, CRIME_TYPE, p.getCrimeType());
+        out.writeString(p.getCrimeDescription());
+        out.writeDate(p.getAdmissionDate());
+        out.writeVarInt(p.getSentenceDuration());
+        out.writeDate(p.getReleaseDate());
+        writeCategory(out, PRISONER_STATUS, p.getStatus());
+        writeCategory(out, PRISON_LOCATION, p.getPrisonLocation());
+        writeCategory(out, HEALTH_STATUS, p.getHealthStatus());
+        out.writeString(p.getFamilyCode());
+        out.writeString(p.getPhotoPath());
+    }
+
+    public PrisonerModel readPrisoner(Reader in) throws IOException {
+        int id = in.readVarInt();
+        String name = in.readString();
+        int age = in.readVarInt();
+        String gender = readCategory(in, GENDER);
+        String address = in.readString();
+        String crimeType = readCategory(in, CRIME_TYPE);
+        String crimeDescription = in.readString();
+        LocalDate admissionDate = in.readDate();
+        int sentence = in.readVarInt();
+        LocalDate releaseDate = in.readDate();
+        String status = readCategory(in, PRISONER_STATUS);
+        String location = readCategory(in, PRISON_LOCATION);
+        String health = readCategory(in, HEALTH_STATUS);
+        String familyCode = in.readString();
+        String photoPath = in.readString();
+        PrisonerModel p = new PrisonerModel(id, name, age, gender, address, crimeType, crimeDescription,
+                                            admissionDate, sentence, location, familyCode, photoPath, status);
+        p.setReleaseDate(releaseDate);
+        p.setHealthStatus(health);
+        return p;
+    }
+
+    // ===== VisitRequest =====
+
+    public void writeVisit(Writer out, VisitRequest r) {
+        out.writeVarInt(r.getRequestId());
+        out.writeVarInt(r.getPrisonerId());
+        out.writeString(r.getPrisonerName());
+        out.writeString(r.getVisitorName());
+        writeCategory(out, RELATIONSHIP, r.getRelationship());
+        out.writeDate(r.getPreferredDate());
+        out.writeString(r.getPurpose());
+        writeCategory(out, VISIT_STATUS, r.getStatus());
+        out.writeDateTime(r.getRequestDateTime());
+        out.writeString(r.getAdminNotes());
+    }
+
+    public VisitRequest readVisit(Reader in) throws IOException {
+        int requestId = in.readVarInt();
+        int prisonerId = in.readVarInt();
+        String prisonerName = in.readString();
+        String visitorName = in.readString();
+        String relationship = readCategory(in, RELATIONSHIP);
+        LocalDate preferredDate = in.readDate();
+        String purpose = in.readString();
+        String status = readCategory(in, VISIT_STATUS);
+        LocalDateTime requested = in.readDateTime();
+        String adminNotes = in.readString();
+        return new VisitRequest(requestId, prisonerId, prisonerName, visitorName, relationship, preferredDate,
+                                purpose, status, requested, adminNotes);
+    }
+
+    // ===== Activity =====
+
+    public void writeActivity(Writer out, Activity a) {
+        writeCategory(out, ACTIVITY_ACTION, a.getAction());
+        out.writeString(a.getPrisonerName());
+        out.writeVarInt(a.getPrisonerId());
+        out.writeDateTime(a.getTimestamp());
+    }
+
+    public Activity readActivity(Reader in) throws IOException {
+        String action = readCategory(in, ACTIVITY_ACTION);
+        String prisonerName = in.readString();
+        int prisonerId = in.readVarInt();
+        return new Activity(action, prisonerName, prisonerId, in.readDateTime());
+    }
+
+    // ===== Categories =====
+
+    public void writeCategory(Writer out, int category, String value) {
+        if (value == null) {
+            out.writeVarInt(NULL_CATEGORY);
+            return;
+        }
+        Integer code = codes.get(category).get(value);
+        if (code != null) {
+            out.writeVarInt(code + 2);
+            return;
+        }
+        out.writeVarInt(INLINE_CATEGORY);
+        out.writeString(value);
+        if (learning) {
+            learn(category, value);
+        }
+    }
+
+    public String readCategory(Reader in, int category) throws IOException {
+        int tag = in.readVarInt();
+        if (tag == NULL_CATEGORY) {
+            return null;
+        }
+        if (tag == INLINE_CATEGORY) {
+            String value = in.readString();
+            if (learning) {
+                learn(category, value);
+            }
+            return value;
+        }
+        ArrayList<String> table = values.get(category);
+        if (tag - 2 >= table.size()) {
+            throw new IOException("Unknown category code " + (tag - 2) + " for field " + category);
+        }
+        return table.get(tag - 2);
+    }
+
+    private void learn(int category, String value) {
+        ArrayList<String> table = values.get(category);
+        codes.get(category).put(value, table.size());
+        table.add(value);
+    }
+
+    // ===== Byte buffers =====
+
+    /**
+     * Growable output buffer
+     */
+    public static final class Writer {
+        private byte[] buf;
+        private int size = 0;
+
+        public Writer() {
+            this(128);
+        }
+
+        public Writer(int capacity) {
+            buf = new byte[Math.max(16, capacity)];
+        }
+
+        public void writeByte(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
+
+        /**
+         * Fixed 4-byte big-endian int (file headers)
+         */
+        public void writeInt(int v) {
+            ensure(4);
+            buf[size++] = (byte) (v >>> 24);
+            buf[size++] = (byte) (v >>> 16);
+            buf[size++] = (byte) (v >>> 8);
+            buf[size++] = (byte) v;
+        }
+
+        public void writeVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[size++] = (byte) v;
+        }
+
+        public void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[size++] = (byte) v;
+        }
+
+        public void writeString(String s) {
+            if (s == null) {
+                writeVarInt(0);
+                return;
+            }
+            int length = s.length();
+            // ASCII fast path: one byte per char, no intermediate array
+            int i = 0;
+            ensure(5 + length);
+            int lengthAt = size;
+            if (length < 127) {
+                size++;
+                for (; i < length; i++) {
+                    char c = s.charAt(i);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[size++] = (byte) c;
+                }
+                if (i == length) {
+                    buf[lengthAt] = (byte) (length + 1);
+                    return;
+                }
+                size = lengthAt;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        public void writeDate(LocalDate date) {
+            if (date == null) {
+                writeVarLong(0);
+                return;
+            }
+            long day = date.toEpochDay();
+            writeVarLong(((day << 1) ^ (day >> 63)) + 1);
+        }
+
+        public void writeDateTime(LocalDateTime dateTime) {
+            if (dateTime == null) {
+                writeDate(null);
+                return;
+            }
+            writeDate(dateTime.toLocalDate());
+            writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+        }
+
+        public void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, size, length);
+            size += length;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void reset() {
+            size = 0;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        /**
+         * Feed the buffered bytes to a checksum (does not reset)
+         */
+        public void updateChecksum(Checksum checksum) {
+            checksum.update(buf, 0, size);
+        }
+
+        /**
+         * Copy the buffered bytes to a stream (does not reset)
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(buf, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Cursor over a byte array
+     */
+    public static final class Reader {
+        private final byte[] buf;
+        private int pos;
+        private final int limit;
+
+        public Reader(byte[] buf) {
+            this(buf, 0, buf.length);
+        }
+
+        public Reader(byte[] buf, int offset, int length) {
+            this.buf = buf;
+            this.pos = offset;
+            this.limit = offset + length;
+        }
+
+        public int readByte() throws IOException {
+            if (pos >= limit) {
+                throw new EOFException("Record truncated at byte " + pos);
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        public int readInt() throws IOException {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        public int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint at byte " + pos);
+        }
+
+        public long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint at byte " + pos);
+        }
+
+        public String readString() throws IOException {
+            int n = readVarInt();
+            if (n == 0) {
+                return null;
+            }
+            int length = n - 1;
+            if (length < 0 || length > limit - pos) {
+                throw new EOFException("String of " + length + " bytes runs past the record");
+            }
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        public LocalDate readDate() throws IOException {
+            long v = readVarLong();
+            if (v == 0) {
+                return null;
+            }
+            long zigzag = v - 1;
+            return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        public LocalDateTime readDateTime() throws IOException {
+            LocalDate date = readDate();
+            if (date == null) {
+                return null;
+            }
+            return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong()));
+        }
+
+        public int position() {
+            return pos;
+        }
+
+        public int remaining() {
+            return limit - pos;
+        }
+    }
+}
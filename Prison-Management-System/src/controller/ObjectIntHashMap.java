@@ -0,0 +1,184 @@
+package controller;
+
+import java.util.Arrays;
+
+/**
+ * ObjectIntHashMap - Object → int map without boxing the values
+ * Same layout as IntIntHashMap (linear probing, backward-shift deletes)
+ * with the keys in an Object[] and a null slot marking a free entry.
+ * Absent keys read as the missingValue given to the constructor
+ *
+ * @param <K> Key type (equals/hashCode; null keys are not allowed)
+ * @author Anjal Bhattarai
+ */
+public class ObjectIntHashMap<K> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final int missingValue;
+    private Object[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+    private int resizeAt;
+
+    /**
+     * @param missingValue Value returned by get/put/remove when a key is absent
+     */
+    public ObjectIntHashMap(int missingValue) {
+        this(missingValue, 16);
+    }
+
+    public ObjectIntHashMap(int missingValue, int expectedSize) {
+        this.missingValue = missingValue;
+        allocate(IntObjectHashMap.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Value for a key, or missingValue if absent
+     */
+    public int get(K key) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(K key) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Associate a value with a key
+     * @return The previous value, or missingValue if the key was absent
+     */
+    public int put(K key, int value) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Remove a key
+     * @return The removed value, or missingValue if the key was absent
+     */
+    public int remove(K key) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Remove a key only while it still maps to the given value
+     * @return true if the entry was removed
+     */
+    public boolean remove(K key, int value) {
+        int i = slot(key);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                if (values[i] != value) {
+                    return false;
+                }
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    // ===== Internals =====
+
+    private int slot(Object key) {
+        return IntIntHashMap.mix(key.hashCode()) & mask;
+    }
+
+    // Backward-shift deletion: move later entries of the probe run into the gap
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            Object key = keys[i];
+            if (key == null) {
+                break;
+            }
+            int home = slot(key);
+            boolean between = (gap <= i) ? (gap < home && home <= i) : (gap < home || home <= i);
+            if (!between) {
+                keys[gap] = key;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                int i = slot(key);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,198 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import model.VisitRequest;
+
+/**
+ * PendingVisitQueue - Priority queue of pending visit requests
+ * Ordered by preferred visit date, then by when the request was made
+ *
+ * Binary min-heap in an array plus a requestId → heap position map, so a
+ * request can be taken out from the middle (approve/decline) in O(log n)
+ * instead of searching the heap
+ *
+ * insert / remove: O(log n)
+ * peek: O(1)
+ * nextDue(k): O(k log k) - walks the top of the heap without modifying it,
+ *   using an int[] heap of positions as its frontier
+ *
+ * @author Anjal Bhattarai
+ */
+public class PendingVisitQueue {
+
+    /** Earliest preferred date first; ties broken by request time, then ID */
+    static final Comparator<VisitRequest> DUE_ORDER = Comparator
+        .comparing(VisitRequest::getPreferredDate)
+        .thenComparing(VisitRequest::getRequestDateTime)
+        .thenComparingInt(VisitRequest::getRequestId);
+
+    private VisitRequest[] heap = new VisitRequest[16];
+    private int size = 0;
+    private final IntIntHashMap positions = new IntIntHashMap(-1); // requestId → heap position
+
+    /**
+     * Add a pending request - O(log n). Ignored if already queued
+     */
+    public void insert(VisitRequest request) {
+        if (positions.containsKey(request.getRequestId())) {
+            return;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = request;
+        positions.put(request.getRequestId(), size);
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Take a request out of the queue (approved/declined) - O(log n)
+     * @return true if the request was queued
+     */
+    public boolean remove(int requestId) {
+        int pos = positions.remove(requestId);
+        if (pos < 0) {
+            return false;
+        }
+        size--;
+        if (pos == size) {
+            heap[size] = null;
+            return true;
+        }
+        // Move the last element into the hole and restore heap order
+        heap[pos] = heap[size];
+        heap[size] = null;
+        positions.put(heap[pos].getRequestId(), pos);
+        siftDown(pos);
+        siftUp(pos);
+        return true;
+    }
+
+    /**
+     * Most urgent pending request without removing it, or null if none
+     */
+    public VisitRequest peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * The k most urgent pending requests in due order, queue unchanged
+     * Explores the heap top-down with a small frontier queue of heap positions
+     */
+    public LinkedList<VisitRequest> nextDue(int k) {
+        LinkedList<VisitRequest> result = new LinkedList<>();
+        if (size == 0 || k <= 0) {
+            return result;
+        }
+        // Min-heap of heap positions in a plain int[]; it never holds more than k + 1
+        int[] frontier = new int[k >= size ? size : k + 1];
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+        while (frontierSize > 0 && result.size() < k) {
+            int pos = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            siftFrontierDown(frontier, frontierSize);
+            result.add(heap[pos]);
+            int left = 2 * pos + 1;
+            if (left < size) frontierSize = pushFrontier(frontier, frontierSize, left);
+            if (left + 1 < size) frontierSize = pushFrontier(frontier, frontierSize, left + 1);
+        }
+        return result;
+    }
+
+    public boolean contains(int requestId) {
+        return positions.containsKey(requestId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        positions.clear();
+    }
+
+    private void siftUp(int pos) {
+        VisitRequest item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (DUE_ORDER.compare(item, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(item, pos);
+    }
+
+    private void siftDown(int pos) {
+        VisitRequest item = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && DUE_ORDER.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (DUE_ORDER.compare(heap[child], item) >= 0) {
+                break;
+            }
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(item, pos);
+    }
+
+    // Frontier heap ordered by the requests at the positions it holds
+    private int pushFrontier(int[] frontier, int count, int pos) {
+        int i = count;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (DUE_ORDER.compare(heap[pos], heap[frontier[parent]]) >= 0) {
+                break;
+            }
+            frontier[i] = frontier[parent];
+            i = parent;
+        }
+        frontier[i] = pos;
+        return count + 1;
+    }
+
+    private void siftFrontierDown(int[] frontier, int count) {
+        if (count == 0) {
+            return;
+        }
+        int pos = frontier[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && DUE_ORDER.compare(heap[frontier[child + 1]], heap[frontier[child]]) < 0) {
+                child++;
+            }
+            if (DUE_ORDER.compare(heap[frontier[child]], heap[pos]) >= 0) {
+                break;
+            }
+            frontier[i] = frontier[child];
+            i = child;
+        }
+        frontier[i] = pos;
+    }
+
+    private void place(VisitRequest request, int pos) {
+        heap[pos] = request;
+        positions.put(request.getRequestId(), pos);
+    }
+}
@@ -0,0 +1,197 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * PhoneticIndex - "Sounds like" lookup over the words of a name
+ * Each word is reduced to a phonetic key and the record ID is filed under it,
+ * so finding a name that sounds the same is one hash probe per word
+ *
+ * The key is a consonant skeleton tuned for romanised Nepali/South Asian names,
+ * where the same name is spelled many ways at the desk:
+ *   aspirates fold into the plain consonant (kh, gh, chh, jh, th, dh, bh → k, g, c, j, t, d, b)
+ *   sh → s, ph/f → f, v/w → b, z → j, q → k, x → ks
+ *   vowels, y and non-initial h are dropped; a leading vowel becomes "A"
+ *   adjacent repeated consonants collapse (Shrestha, Shresta, Sresta → SRST; Bahadur, Bahdur → BDR)
+ *
+ * @author Anjal Bhattarai
+ */
+public class PhoneticIndex {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final HashMap<String, IdList> idsByKey = new HashMap<>();
+
+    /**
+     * File a record ID under the key of every word of its name
+     */
+    public void add(int id, String name) {
+        for (String key : keysOf(name)) {
+            idsByKey.computeIfAbsent(key, k -> new IdList()).add(id);
+        }
+    }
+
+    /**
+     * Remove a record ID (call with the name it was added under)
+     */
+    public void remove(int id, String name) {
+        for (String key : keysOf(name)) {
+            IdList ids = idsByKey.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size == 0) {
+                    idsByKey.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs whose name has a word sounding like every word of the given name
+     * Intersects the sorted ID lists of the keys with a merge walk
+     * @return Ascending IDs, empty if none
+     */
+    public int[] lookup(String name) {
+        int[] result = null;
+        int count = 0;
+        for (String key : keysOf(name)) {
+            IdList ids = idsByKey.get(key);
+            if (ids == null) {
+                return NO_IDS;
+            }
+            if (result == null) {
+                result = Arrays.copyOf(ids.ids, ids.size);
+                count = ids.size;
+            } else {
+                count = intersect(result, count, ids);
+            }
+        }
+        return result == null ? NO_IDS : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Number of distinct keys currently indexed
+     */
+    public int keyCount() {
+        return idsByKey.size();
+    }
+
+    public void clear() {
+        idsByKey.clear();
+    }
+
+    // Keep the first count entries of result that are also in ids (both ascending), in place
+    private static int intersect(int[] result, int count, IdList ids) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < ids.size; i++) {
+            while (j < ids.size && ids.ids[j] < result[i]) {
+                j++;
+            }
+            if (j < ids.size && ids.ids[j] == result[i]) {
+                result[kept++] = result[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Ascending, duplicate-free IDs filed under one key, in a primitive array
+     * Names sharing a key are few, so insert/remove shift in place
+     */
+    private static final class IdList {
+        int[] ids = new int[4];
+        int size = 0;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Phonetic keys of every word of a name (words with no key are skipped)
+     */
+    public static String[] keysOf(String name) {
+        String[] words = BkTree.tokensOf(name);
+        String[] keys = new String[words.length];
+        int count = 0;
+        for (String word : words) {
+            String key = keyOf(word);
+            if (!key.isEmpty()) {
+                keys[count++] = key;
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Phonetic key of a single word
+     */
+    public static String keyOf(String word) {
+        String w = word.toLowerCase(Locale.ROOT)
+                       .replace("chh", "c").replace("ch", "c")
+                       .replace("sh", "s").replace("kh", "k").replace("gh", "g")
+                       .replace("jh", "j").replace("th", "t").replace("dh", "d")
+                       .replace("ph", "f").replace("bh", "b").replace("ck", "k");
+
+        StringBuilder key = new StringBuilder();
+        char last = 0;
+        for (int i = 0; i < w.length(); i++) {
+            char c = w.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue; // digits and non-Latin letters carry no sound here
+            }
+            if (isVowel(c)) {
+                if (key.length() == 0) {
+                    key.append('A');
+                }
+                last = 0; // a vowel separates repeated consonants
+                continue;
+            }
+            if (c == 'h' && i > 0) {
+                continue;
+            }
+            String mapped;
+            switch (c) {
+                case 'v':
+                case 'w': mapped = "b"; break;
+                case 'z': mapped = "j"; break;
+                case 'q': mapped = "k"; break;
+                case 'x': mapped = "ks"; break;
+                default: mapped = String.valueOf(c);
+            }
+            for (int j = 0; j < mapped.length(); j++) {
+                char m = Character.toUpperCase(mapped.charAt(j));
+                if (m != last) {
+                    key.append(m);
+                    last = m;
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+    }
+}
@@ -0,0 +1,275 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * PrefixTrie - Compressed (radix) trie of search terms for type-ahead
+ * Edges carry whole string fragments, so a chain of single-child nodes is
+ * stored as one node. Each term has a weight (how many prisoners use it) and
+ * every node caches the largest weight in its subtree
+ *
+ * complete(prefix, k) walks down to the prefix (O(prefix length)) and then
+ * runs a best-first search on the cached weights, so only the branches that
+ * can still beat the current top-k are opened - no scan of all terms
+ *
+ * Keys are lowercased; the first spelling added is kept for display
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrefixTrie {
+
+    private final Node root = new Node("");
+    private int termCount = 0;
+
+    /**
+     * Add one use of a term (weight + 1)
+     */
+    public void add(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        ArrayList<Node> path = new ArrayList<>();
+        Node node = insert(key, path);
+        if (node.weight == 0) {
+            node.display = term.trim();
+            termCount++;
+        }
+        node.weight++;
+        refreshBest(path);
+    }
+
+    /**
+     * Remove one use of a term (weight - 1); the term disappears at weight 0
+     */
+    public void remove(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        ArrayList<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.children == null ? null : node.children.get(key.charAt(pos));
+            if (child == null || !key.startsWith(child.label, pos)) {
+                return;
+            }
+            pos += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        if (node.weight == 0) {
+            return;
+        }
+        node.weight--;
+        if (node.weight == 0) {
+            node.display = null;
+            termCount--;
+            prune(path);
+        }
+        refreshBest(path);
+    }
+
+    /**
+     * Top-k terms starting with the prefix, heaviest first, then alphabetical
+     * @return Display spellings of up to k terms (empty if none)
+     */
+    public List<String> complete(String prefix, int k) {
+        List<String> results = new ArrayList<>();
+        String key = normalize(prefix);
+        if (k <= 0 || key.isEmpty()) {
+            return results;
+        }
+
+        // Walk down to the node covering the prefix (it may end inside an edge)
+        Node node = root;
+        StringBuilder path = new StringBuilder();
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.children == null ? null : node.children.get(key.charAt(pos));
+            if (child == null) {
+                return results;
+            }
+            int common = commonPrefix(child.label, 0, key, pos);
+            if (common < child.label.length() && pos + common < key.length()) {
+                return results; // diverges inside the edge
+            }
+            pos += common;
+            path.append(child.label);
+            node = child;
+        }
+
+        // Best-first: subtrees ordered by their best weight, terms by their own weight
+        PriorityQueue<Entry> queue = new PriorityQueue<>();
+        queue.add(new Entry(node, path.toString(), node.best, false));
+        while (!queue.isEmpty() && results.size() < k) {
+            Entry e = queue.poll();
+            if (e.term) {
+                results.add(e.node.display);
+                continue;
+            }
+            if (e.node.weight > 0) {
+                queue.add(new Entry(e.node, e.key, e.node.weight, true));
+            }
+            if (e.node.children != null) {
+                for (Node child : e.node.children.values()) {
+                    queue.add(new Entry(child, e.key + child.label, child.best, false));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of distinct terms stored
+     */
+    public int size() {
+        return termCount;
+    }
+
+    public void clear() {
+        root.children = null;
+        root.best = 0;
+        termCount = 0;
+    }
+
+    private static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ===== Tree maintenance =====
+
+    // Find or create the node for key, splitting an edge if the key ends or diverges inside it
+    private Node insert(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            char c = key.charAt(pos);
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node(key.substring(pos));
+                node.children.put(c, child);
+                path.add(child);
+                return child;
+            }
+            int common = commonPrefix(child.label, 0, key, pos);
+            if (common < child.label.length()) {
+                // Split: node → middle(label[0, common)) → child(label[common, ...))
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new HashMap<>();
+                middle.children.put(child.label.charAt(0), child);
+                middle.best = child.best;
+                node.children.put(c, middle);
+                child = middle;
+            }
+            pos += common;
+            node = child;
+            path.add(node);
+        }
+        return node;
+    }
+
+    // Drop the emptied leaf and merge a single-child non-term node into its child
+    private void prune(List<Node> path) {
+        Node node = path.get(path.size() - 1);
+        if (node == root) {
+            return;
+        }
+        Node parent = path.get(path.size() - 2);
+        if (node.children == null || node.children.isEmpty()) {
+            parent.children.remove(node.label.charAt(0));
+            path.remove(path.size() - 1);
+            // The parent may now be a pass-through node with one child
+            if (parent != root && parent.weight == 0 && parent.children.size() == 1) {
+                mergeWithOnlyChild(parent);
+            }
+        } else if (node.children.size() == 1) {
+            mergeWithOnlyChild(node);
+        }
+    }
+
+    private void mergeWithOnlyChild(Node node) {
+        Node only = node.children.values().iterator().next();
+        node.label = node.label + only.label;
+        node.children = only.children;
+        node.weight = only.weight;
+        node.display = only.display;
+        node.best = only.best;
+    }
+
+    // Recompute cached subtree maxima bottom-up along the path
+    private void refreshBest(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node n = path.get(i);
+            int best = n.weight;
+            if (n.children != null) {
+                for (Node child : n.children.values()) {
+                    best = Math.max(best, child.best);
+                }
+            }
+            n.best = best;
+        }
+    }
+
+    private static int commonPrefix(String a, int aFrom, String b, int bFrom) {
+        int n = 0;
+        while (aFrom + n < a.length() && bFrom + n < b.length() && a.charAt(aFrom + n) == b.charAt(bFrom + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static final class Node {
+        String label;                     // edge fragment leading into this node
+        HashMap<Character, Node> children;
+        int weight = 0;                   // uses of the term ending here, 0 = not a term
+        String display;                   // spelling shown for the term
+        int best = 0;                     // max weight in this subtree
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Queue entry: a subtree (term=false) or a finished term (term=true)
+     * Higher priority first; ties go to the alphabetically smaller key
+     */
+    private static final class Entry implements Comparable<Entry> {
+        final Node node;
+        final String key;
+        final int priority;
+        final boolean term;
+
+        Entry(Node node, String key, int priority, boolean term) {
+            this.node = node;
+            this.key = key;
+            this.priority = priority;
+            this.term = term;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            int cmp = key.compareTo(other.key);
+            if (cmp != 0) {
+                return cmp;
+            }
+            // A term sorts before the subtree below it
+            return Boolean.compare(other.term, term);
+        }
+    }
+}
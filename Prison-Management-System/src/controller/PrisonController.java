@@ -1,8 +1,15 @@
 package controller;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import javax.swing.JOptionPane;
 import javax.swing.JTable;
 import javax.swing.table.DefaultTableModel;
@@ -15,46 +22,115 @@ import model.VisitRequest;
  */
 public class PrisonController {
     
-    private LinkedList<PrisonerModel> prisonDetails = new LinkedList<>();
+    private volatile PrisonerSnapshot snapshot = PrisonerSnapshot.EMPTY; // Ordered, read-only prisoner list for readers
+    private PrisonerIndex prisonerIndex = new PrisonerIndex(); // Active prisoners keyed by ID, plus lookup indexes
     private LinkedList<VisitRequest> visitRequests = new LinkedList<>(); // Visit requests
+    private VisitRequestIndex visitRequestIndex = new VisitRequestIndex(); // Lookup index over visitRequests
     private SimpleQueue recentlyAddedQueue = new SimpleQueue();
     private SimpleQueue recentActivities = new SimpleQueue(); // Activity tracking
     private SimpleStack trashBin = new SimpleStack(); // Custom Stack for deleted prisoners
     private static final int MAX_ACTIVITIES = 10; // Maximum activities to track
-    private int nextPrisonerId = 101; // Start at 101
+    private PrisonerIdAllocator idAllocator = new PrisonerIdAllocator(101); // Start at 101
+    private PrisonerRepository repository; // Where every change is stored before it is applied
     
-    // Constructor - load sample data
+    // Places per prison for the dashboard; override with -Dprison.locationCapacities="Name=places;..."
+    private static final String DEFAULT_LOCATION_CAPACITIES =
+            "Central Jail, Kathmandu=4000;Biratnagar Jail, Morang=3000;Pokhara Jail, Kaski=2500;" +
+            "Bharatpur Jail, Chitwan=2500;Bhairahawa Jail, Rupandehi=2000;Nepalgunj Jail, Banke=2000";
+    
+    // Constructor - backend from -Dprison.repository (see PrisonerRepository.fromSystemProperties)
     public PrisonController() {
-        loadSampleNepalData();
+        this(PrisonerRepository.fromSystemProperties());
+    }
+    
+    /**
+     * @param dataDir Directory holding the snapshot and write-ahead log, or null to keep everything in memory
+     */
+    public PrisonController(Path dataDir) {
+        this(dataDir == null ? new InMemoryPrisonerRepository() : new FilePrisonerRepository(dataDir));
+    }
+    
+    /**
+     * @param repository Backend to load from and store changes in
+     * @throws IllegalStateException if the stored data cannot be read, or a first
+     *         start cannot store its initial data; the caller must not carry on with
+     *         sample data in place of real records
+     * @throws IllegalArgumentException if a configured capacity is malformed
+     */
+    public PrisonController(PrisonerRepository repository) {
+        configureCapacities();
+        this.repository = repository;
+        RepositoryState stored;
+        try {
+            stored = repository.load();
+        } catch (IOException e) {
+            closeQuietly(repository);
+            throw new IllegalStateException("Could not load saved data from " + repository.describe() +
+                                            ": " + e.getMessage(), e);
+        }
+        
+        if (stored != null) {
+            loadState(stored);
+            maybeCheckpoint();
+        } else {
+            // First start: load sample data without per-record writes, then store it in one go
+            this.repository = new InMemoryPrisonerRepository();
+            loadSampleNepalData();
+            this.repository = repository;
+            try {
+                repository.saveAll(currentState());
+            } catch (IOException e) {
+                closeQuietly(repository);
+                throw new IllegalStateException("Could not store initial data in " + repository.describe() +
+                                                ": " + e.getMessage(), e);
+            }
+        }
+        System.out.println("[REPOSITORY] Using " + this.repository.describe());
     }
     
     /**
-     * Add a new prisoner (CREATE operation)
+     * Add a new prisoner (CREATE operation), health status "Good"
      * Delegates to CRUD.addPrisoner
      */
     public boolean addPrisoner(String name, int age, String gender, String address,
                               String crimeType, String crimeDescription,
                               LocalDate admissionDate, int sentenceDuration,
                               String prisonLocation, String familyCode, String photoPath, String status) {
-        OperationResult<Integer> result = CRUD.addPrisoner(prisonDetails, recentlyAddedQueue, nextPrisonerId,
+        return addPrisoner(name, age, gender, address, crimeType, crimeDescription, admissionDate,
+                           sentenceDuration, prisonLocation, familyCode, photoPath, status, "Good");
+    }
+    
+    /**
+     * Add a new prisoner with a known health status (CREATE operation)
+     * The health status is part of the record from the start - it is stored and
+     * published together with everything else
+     */
+    public boolean addPrisoner(String name, int age, String gender, String address,
+                              String crimeType, String crimeDescription,
+                              LocalDate admissionDate, int sentenceDuration,
+                              String prisonLocation, String familyCode, String photoPath,
+                              String status, String healthStatus) {
+        OperationResult<Integer> result = CRUD.addPrisoner(prisonerIndex, recentlyAddedQueue, idAllocator, repository,
                                            name, age, gender, address, crimeType, crimeDescription,
-                                           admissionDate, sentenceDuration, prisonLocation, familyCode, photoPath, status);
+                                           admissionDate, sentenceDuration, prisonLocation, familyCode, photoPath,
+                                           status, healthStatus);
         
         if (result.isSuccess()) {
             int newId = result.getData();
+            snapshot = snapshot.withAdded(prisonerIndex.getById(newId));
+            maybeCheckpoint();
             // Log activity
             logActivity("ADDED", name, newId);
-            nextPrisonerId = newId + 1; // Update next ID for next prisoner
         }
         return result.isSuccess();
     }
     
     /**
      * Get next available prisoner ID (public for UI preview)
-     * Delegates to CRUD.getNextAvailableId
+     * Peeks at the allocator - does not consume the ID
      */
     public int getNextAvailableId() {
-        return CRUD.getNextAvailableId(prisonDetails, nextPrisonerId);
+        return idAllocator.peekNextId();
     }
     
     /**
@@ -70,18 +146,20 @@ public class PrisonController {
      * Delegates to CRUD.getPrisonerById
      */
     public PrisonerModel getPrisonerById(int id) {
-        return CRUD.getPrisonerById(prisonDetails, id);
+        return CRUD.getPrisonerById(prisonerIndex, id);
     }
     
     /**
      * Get all prisoners
+     * Returns an immutable snapshot - safe to iterate, sort or render while
+     * prisoners are added or removed; call again to see later changes
      */
-    public LinkedList<PrisonerModel> getAllPrisoners() {
-        return prisonDetails;
+    public PrisonerSnapshot getAllPrisoners() {
+        return snapshot;
     }
     
     /**
-     * UPDATE - Update existing prisoner information
+     * UPDATE - Update existing prisoner information, keeping the current status
      * Delegates to CRUD.updatePrisoner
      * @return true if update successful, false otherwise
      */
@@ -89,24 +167,59 @@ public class PrisonController {
                                   String address, String crimeType, String crimeDescription,
                                   LocalDate admissionDate, int sentenceDuration,
                                   String prisonLocation, String familyCode, String photoPath) {
-        OperationResult<Boolean> result = CRUD.updatePrisoner(prisonDetails, prisonerId, name, age, gender,
+        return updatePrisoner(prisonerId, name, age, gender, address, crimeType, crimeDescription,
+                              admissionDate, sentenceDuration, prisonLocation, familyCode, photoPath, null);
+    }
+    
+    /**
+     * UPDATE - Update existing prisoner information and status in one change
+     * One stored record and one published replacement, so no reader sees the
+     * new details with the old status
+     * @param status New status, or null to keep the current one
+     * @return true if update successful, false otherwise
+     */
+    public boolean updatePrisoner(int prisonerId, String name, int age, String gender,
+                                  String address, String crimeType, String crimeDescription,
+                                  LocalDate admissionDate, int sentenceDuration,
+                                  String prisonLocation, String familyCode, String photoPath, String status) {
+        PrisonerModel previous = prisonerIndex.getById(prisonerId);
+        OperationResult<PrisonerModel> result = CRUD.updatePrisoner(prisonerIndex, repository, prisonerId, name, age, gender,
                                    address, crimeType, crimeDescription, admissionDate,
-                                   sentenceDuration, prisonLocation, familyCode, photoPath);
+                                   sentenceDuration, prisonLocation, familyCode, photoPath, status);
         if (result.isSuccess()) {
+            snapshot = snapshot.replaced(previous, result.getData());
+            maybeCheckpoint();
             logActivity("UPDATED", name, prisonerId);
         }
         return result.isSuccess();
     }
     
+    /**
+     * UPDATE - Change a prisoner's status
+     * Delegates to CRUD.updatePrisonerStatus
+     * @return true if update successful, false otherwise
+     */
+    public boolean updatePrisonerStatus(int prisonerId, String status) {
+        PrisonerModel previous = prisonerIndex.getById(prisonerId);
+        OperationResult<PrisonerModel> result = CRUD.updatePrisonerStatus(prisonerIndex, repository, prisonerId, status);
+        if (result.isSuccess()) {
+            snapshot = snapshot.replaced(previous, result.getData());
+            maybeCheckpoint();
+        }
+        return result.isSuccess();
+    }
+    
     /**
      * DELETE - Remove prisoner from system and move to trash bin
      * Delegates to CRUD.deletePrisoner
      * @return true if deletion successful, false otherwise
      */
     public boolean deletePrisoner(int prisonerId) {
-        OperationResult<PrisonerModel> result = CRUD.deletePrisoner(prisonDetails, trashBin, prisonerId);
+        OperationResult<PrisonerModel> result = CRUD.deletePrisoner(prisonerIndex, trashBin, repository, prisonerId);
         if (result.isSuccess()) {
             PrisonerModel prisoner = result.getData();
+            snapshot = snapshot.without(prisoner);
+            maybeCheckpoint();
             logActivity("DELETED", prisoner.getName(), prisonerId);
             return true;
         } else {
@@ -125,8 +238,10 @@ public class PrisonController {
      * @return The restored prisoner, or null if trash is empty
      */
     public PrisonerModel restorePrisoner() {
-        PrisonerModel restored = TrashBinOperation.popFromTrash(trashBin, prisonDetails);
+        PrisonerModel restored = TrashBinOperation.popFromTrash(trashBin, prisonerIndex, idAllocator, repository);
         if (restored != null) {
+            snapshot = snapshot.withAdded(restored);
+            maybeCheckpoint();
             logActivity("RESTORED", restored.getName(), restored.getPrisonerId());
         }
         return restored;
@@ -155,7 +270,8 @@ public class PrisonController {
      */
     public void emptyTrash() {
         int count = trashBin.size();
-        TrashBinOperation.emptyTrash(trashBin);
+        TrashBinOperation.emptyTrash(trashBin, repository);
+        maybeCheckpoint();
         if (count > 0) {
             logActivity("EMPTIED TRASH", count + " prisoner(s)", 0);
         }
@@ -244,7 +360,104 @@ public class PrisonController {
      * @return LinkedList of matching prisoners
      */
     public LinkedList<PrisonerModel> searchPrisoners(String searchType, String searchTerm) {
-        return SearchOperation.searchPrisoners(prisonDetails, searchType, searchTerm);
+        return SearchOperation.searchPrisoners(snapshot, prisonerIndex, searchType, searchTerm);
+    }
+    
+    /**
+     * Search prisoners whose ID falls in [fromId, toId]
+     * Delegates to SearchOperation.rangeSearchById (O(log n + k))
+     */
+    public LinkedList<PrisonerModel> searchPrisonersByIdRange(int fromId, int toId) {
+        return SearchOperation.rangeSearchById(prisonerIndex.getSortedIds(), fromId, toId);
+    }
+    
+    /**
+     * FILTER - Prisoners matching every given criterion (null or "All" = any)
+     * Delegates to SearchOperation.filterPrisoners (bitmap AND, no full scan)
+     */
+    public LinkedList<PrisonerModel> filterPrisoners(String status, String prisonLocation,
+                                                     String crimeType, String gender) {
+        return SearchOperation.filterPrisoners(prisonerIndex, status, prisonLocation, crimeType, gender);
+    }
+
+    /**
+     * FUZZY SEARCH - Prisoners whose name words are within maxDistance edits of the term
+     * Delegates to SearchOperation.fuzzySearchByName (BK-tree, sublinear)
+     */
+    public LinkedList<PrisonerModel> fuzzySearchByName(String searchTerm, int maxDistance) {
+        return SearchOperation.fuzzySearchByName(prisonerIndex, searchTerm, maxDistance);
+    }
+
+    /**
+     * SOUNDS LIKE - Prisoners whose name sounds like the given name
+     * Delegates to SearchOperation.phoneticSearchByName (hash probe per word)
+     */
+    public LinkedList<PrisonerModel> searchPrisonersSoundingLike(String name) {
+        return SearchOperation.phoneticSearchByName(prisonerIndex, name);
+    }
+
+    /**
+     * TYPE-AHEAD - Top-k completions for the search box
+     * ID searches complete ID digits; name/crime searches complete names and crime types;
+     * other search types (ranges, dates) get no suggestions
+     * @param searchType - Type from ComboBox
+     * @param prefix - What the user has typed so far
+     * @param limit - Maximum number of suggestions
+     */
+    public List<String> getSearchSuggestions(String searchType, String prefix, int limit) {
+        if (searchType == null) {
+            return Collections.emptyList();
+        }
+        if (searchType.contains("Binary Search")) {
+            return prisonerIndex.getIdCompletions().complete(prefix, limit);
+        }
+        if (searchType.contains("Linear Search")) {
+            return prisonerIndex.getTextCompletions().complete(prefix, limit);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * QUERY - Run a composed PrisonerQuery (any field, AND/OR)
+     * QueryPlanner picks the most selective index; result carries the plan used
+     */
+    public QueryResult runQuery(PrisonerQuery query) {
+        return new QueryPlanner(prisonerIndex).execute(query);
+    }
+    
+    /**
+     * QUERY (text) - Parse a filter such as "status = Active and age = 25..45" and run it
+     * See PrisonerQuery.parse for the syntax
+     * @throws IllegalArgumentException if the text is not a valid query
+     */
+    public QueryResult runQuery(String filter) {
+        return runQuery(PrisonerQuery.parse(filter));
+    }
+
+    /**
+     * Prisoners due for release from today through the next N days, earliest first
+     * Delegates to SearchOperation.searchByReleaseDate (O(log n + k))
+     */
+    public LinkedList<PrisonerModel> getUpcomingReleases(int days) {
+        LocalDate today = LocalDate.now();
+        return SearchOperation.searchByReleaseDate(prisonerIndex, today, today.plusDays(days));
+    }
+    
+    /**
+     * Prisoners admitted between two dates (inclusive), optionally at one location
+     * Delegates to SearchOperation.searchByAdmissionDate (index range scan)
+     * @param prisonLocation Location to filter on, or null/"All" for every location
+     */
+    public LinkedList<PrisonerModel> getAdmissionsBetween(LocalDate from, LocalDate to, String prisonLocation) {
+        return SearchOperation.searchByAdmissionDate(prisonerIndex, from, to, prisonLocation);
+    }
+    
+    /**
+     * Monthly intake report (admissions per month, inclusive month range)
+     * Delegates to SearchOperation.monthlyIntake
+     */
+    public LinkedHashMap<YearMonth, Integer> getMonthlyIntake(YearMonth fromMonth, YearMonth toMonth) {
+        return SearchOperation.monthlyIntake(prisonerIndex, fromMonth, toMonth);
     }
     
     /**
@@ -254,7 +467,12 @@ public class PrisonController {
      * @return sorted list of prisoners
      */
     public LinkedList<PrisonerModel> sortPrisoners(String sortBy, boolean ascending) {
-        return SortOperation.sortPrisoners(prisonDetails, sortBy, ascending);
+        // Numeric fields sort on the primitive columns; others use the list sorts
+        LinkedList<PrisonerModel> sorted = SortOperation.columnarSort(prisonerIndex.getColumns(), sortBy, ascending);
+        if (sorted != null) {
+            return sorted;
+        }
+        return SortOperation.sortPrisoners(snapshot, sortBy, ascending);
     }
 
     /**
@@ -264,7 +482,7 @@ public class PrisonController {
      * @param algorithm One of: InsertionSort, SelectionSort, MergeSort
      */
     public LinkedList<PrisonerModel> sortPrisoners(String sortBy, boolean ascending, String algorithm) {
-        return SortOperation.sortPrisoners(prisonDetails, sortBy, ascending, algorithm);
+        return SortOperation.sortPrisoners(snapshot, sortBy, ascending, algorithm);
     }
     
     /**
@@ -296,14 +514,132 @@ public class PrisonController {
      * Get prisoner count
      */
     public int getPrisonerCount() {
-        return prisonDetails.size();
+        return snapshot.size();
+    }
+    
+    /**
+     * Live dashboard statistics (totals, gender, status, location, age buckets)
+     * Updated by every CRUD and trash operation - reads are O(1)
+     */
+    public PrisonStatistics getStatistics() {
+        return prisonerIndex.getStatistics();
+    }
+    
+    /**
+     * Average prisoner age (single pass over the age column)
+     */
+    public double getAverageAge() {
+        return prisonerIndex.getColumns().averageAge();
+    }
+    
+    /**
+     * Average sentence length in months (single pass over the sentence column)
+     */
+    public double getAverageSentenceMonths() {
+        return prisonerIndex.getColumns().averageSentenceMonths();
+    }
+    
+    /**
+     * The backend changes are stored in
+     */
+    public PrisonerRepository getRepository() {
+        return repository;
+    }
+    
+    private void loadState(RepositoryState state) {
+        PrisonerSnapshot loaded = PrisonerSnapshot.EMPTY;
+        for (PrisonerModel p : state.getPrisoners()) {
+            prisonerIndex.add(p);
+            loaded = loaded.withAdded(p);
+        }
+        for (PrisonerModel p : state.getTrash()) {
+            trashBin.push(p);
+        }
+        for (VisitRequest request : state.getVisitRequests()) {
+            visitRequests.add(request);
+            visitRequestIndex.add(request);
+        }
+        idAllocator.reserveThrough(state.getNextPrisonerId() - 1);
+        snapshot = loaded;
+    }
+    
+    private RepositoryState currentState() {
+        return new RepositoryState(snapshot, Arrays.asList(trashBin.toArray(new PrisonerModel[0])),
+                                   visitRequests, idAllocator.peekNextId());
+    }
+    
+    /**
+     * Set the dashboard capacities from -Dprison.locationCapacities and -Dprison.capacity
+     * The total defaults to the sum of the location capacities
+     */
+    private void configureCapacities() {
+        PrisonStatistics stats = prisonerIndex.getStatistics();
+        String locations = System.getProperty("prison.locationCapacities", DEFAULT_LOCATION_CAPACITIES);
+        for (String entry : locations.split(";")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            // Location names contain commas, never '='
+            int split = entry.lastIndexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("prison.locationCapacities entry is not Name=places: '" +
+                                                   entry.trim() + "'");
+            }
+            stats.setLocationCapacity(entry.substring(0, split).trim(),
+                                      parseCapacity("prison.locationCapacities", entry.substring(split + 1)));
+        }
+        String total = System.getProperty("prison.capacity", "").trim();
+        if (!total.isEmpty()) {
+            stats.setTotalCapacity(parseCapacity("prison.capacity", total));
+        }
+    }
+    
+    private static int parseCapacity(String property, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(property + " has a capacity that is not a number: '" +
+                                               value.trim() + "'", e);
+        }
+    }
+    
+    private static void closeQuietly(PrisonerRepository repository) {
+        try {
+            repository.close();
+        } catch (IOException e) {
+            System.err.println("[REPOSITORY] Error closing " + repository.describe() + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Store the full current state in the repository
+     * For the file backend this writes a new snapshot and starts an empty log;
+     * called automatically once the repository asks for compaction
+     * @return true if the state was stored
+     */
+    public boolean checkpoint() {
+        try {
+            repository.saveAll(currentState());
+            return true;
+        } catch (IOException e) {
+            // Whatever was stored before is still intact
+            System.err.println("[REPOSITORY] Full save failed: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    // Bound restart time: fold the change log into a full save once it gets large
+    private void maybeCheckpoint() {
+        if (repository.wantsCompaction()) {
+            checkpoint();
+        }
     }
     
     /**
      * Check if prisoner exists
      */
     public boolean prisonerExists(int prisonerId) {
-        return getPrisonerById(prisonerId) != null;
+        return prisonerIndex.containsId(prisonerId);
     }
     
     // Your existing methods remain the same...
@@ -315,7 +651,7 @@ public class PrisonController {
         DefaultTableModel model = (DefaultTableModel) prisonerTable.getModel();
         model.setRowCount(0); // clear previous rows
 
-        for (PrisonerModel prisoner : prisonDetails) {
+        for (PrisonerModel prisoner : snapshot) {
             Object[] row = {
                 prisoner.getPrisonerId(),
                 prisoner.getName(),
@@ -362,277 +698,232 @@ public class PrisonController {
         addPrisoner("Aditya Shrestha", 19, "Male", "Tinkune-15, Kathmandu",
                     "Theft", "Shoplifting from local store", 
                     LocalDate.of(2024, 3, 15), 18, "Central Jail, Kathmandu", 
-                    "FAM101", getAbsoluteImagePath("1.jpg"), "Active");
-        getPrisonerById(101).setHealthStatus("Good");
+                    "FAM101", getAbsoluteImagePath("1.jpg"), "Active", "Good");
         
         addPrisoner("Rohan Tamang", 22, "Male", "Boudha-7, Kathmandu",
                     "Drug Possession", "Possession of marijuana",
                     LocalDate.of(2024, 8, 10), 12, "Central Jail, Kathmandu",
-                    "FAM102", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(102).setHealthStatus("Good");
+                    "FAM102", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Suraj Karki", 20, "Male", "Dharan-12, Sunsari",
                     "Assault", "Minor physical assault",
                     LocalDate.of(2024, 9, 5), 6, "Biratnagar Jail, Morang",
-                    "FAM103", getAbsoluteImagePath("3.jpg"), "Active");
-        getPrisonerById(103).setHealthStatus("Fair");
+                    "FAM103", getAbsoluteImagePath("3.jpg"), "Active", "Fair");
         
         addPrisoner("Bibek Rai", 23, "Male", "Birtamod-8, Jhapa",
                     "Vandalism", "Property damage",
                     LocalDate.of(2024, 7, 20), 9, "Biratnagar Jail, Morang",
-                    "FAM104", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(104).setHealthStatus("Good");
+                    "FAM104", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Manish Gurung", 21, "Male", "Pokhara-6, Kaski",
                     "Theft", "Vehicle theft",
                     LocalDate.of(2024, 6, 15), 15, "Pokhara Jail, Kaski",
-                    "FAM105", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(105).setHealthStatus("Good");
+                    "FAM105", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Kiran Thapa", 24, "Male", "Chitwan-4, Chitwan",
                     "Fraud", "Credit card fraud",
                     LocalDate.of(2024, 5, 1), 18, "Bharatpur Jail, Chitwan",
-                    "FAM106", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(106).setHealthStatus("Fair");
+                    "FAM106", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Sanjay Magar", 22, "Male", "Butwal-11, Rupandehi",
                     "Trespassing", "Illegal entry",
                     LocalDate.of(2024, 10, 10), 6, "Bhairahawa Jail, Rupandehi",
-                    "FAM107", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(107).setHealthStatus("Good");
+                    "FAM107", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Dipesh Limbu", 20, "Male", "Dhankuta-9, Dhankuta",
                     "Theft", "Shoplifting",
                     LocalDate.of(2024, 4, 25), 12, "Biratnagar Jail, Morang",
-                    "FAM108", getAbsoluteImagePath("default-prisoner.png"), "Released");
-        getPrisonerById(108).setHealthStatus("Good");
+                    "FAM108", getAbsoluteImagePath("default-prisoner.png"), "Released", "Good");
         
         addPrisoner("Ashish Chaudhary", 23, "Male", "Nepalgunj-3, Banke",
                     "Public Disorder", "Public intoxication and disturbance",
                     LocalDate.of(2024, 11, 1), 3, "Nepalgunj Jail, Banke",
-                    "FAM109", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(109).setHealthStatus("Good");
+                    "FAM109", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Prakash Thakuri", 24, "Male", "Hetauda-10, Makwanpur",
                     "Burglary", "Breaking and entering",
                     LocalDate.of(2024, 2, 14), 20, "Central Jail, Kathmandu",
-                    "FAM110", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(110).setHealthStatus("Fair");
+                    "FAM110", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         // Under 25 - Females (5)
         addPrisoner("Anita Rai", 21, "Female", "Lakeside-6, Pokhara",
                     "Fraud", "Financial fraud",
                     LocalDate.of(2024, 5, 20), 24, "Pokhara Jail, Kaski",
-                    "FAM111", getAbsoluteImagePath("2.jpg"), "Active");
-        getPrisonerById(111).setHealthStatus("Fair");
+                    "FAM111", getAbsoluteImagePath("2.jpg"), "Active", "Fair");
         
         addPrisoner("Kritika Adhikari", 23, "Female", "Bhaktapur-9, Bhaktapur",
                     "Theft", "Jewelry theft",
                     LocalDate.of(2024, 6, 5), 15, "Central Jail, Kathmandu",
-                    "FAM112", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(112).setHealthStatus("Good");
+                    "FAM112", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Ritu Sharma", 22, "Female", "Biratnagar-8, Morang",
                     "Embezzlement", "Misappropriation of funds",
                     LocalDate.of(2024, 7, 18), 18, "Biratnagar Jail, Morang",
-                    "FAM113", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(113).setHealthStatus("Good");
+                    "FAM113", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Sunita Karki", 24, "Female", "Butwal-5, Rupandehi",
                     "Forgery", "Document forgery",
                     LocalDate.of(2024, 3, 10), 12, "Bhairahawa Jail, Rupandehi",
-                    "FAM114", getAbsoluteImagePath("default-prisoner.png"), "Released");
-        getPrisonerById(114).setHealthStatus("Good");
+                    "FAM114", getAbsoluteImagePath("default-prisoner.png"), "Released", "Good");
         
         addPrisoner("Sapana Thapa", 20, "Female", "Chitwan-11, Chitwan",
                     "Cyber Crime", "Social media fraud",
                     LocalDate.of(2024, 9, 8), 15, "Bharatpur Jail, Chitwan",
-                    "FAM115", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(115).setHealthStatus("Fair");
+                    "FAM115", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         // 25-45 Age Group - Males (14)
         addPrisoner("Ram Bahadur Thapa", 32, "Male", "Tinkune-15, Kathmandu",
                     "Theft", "Grand larceny", 
                     LocalDate.of(2024, 1, 10), 24, "Central Jail, Kathmandu", 
-                    "FAM116", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(116).setHealthStatus("Good");
+                    "FAM116", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Prakash Tamang", 42, "Male", "Bouddha-7, Kathmandu",
                     "Drug Trafficking", "Distribution of illegal narcotics",
                     LocalDate.of(2023, 8, 22), 60, "Central Jail, Kathmandu",
-                    "FAM117", getAbsoluteImagePath("5.jpg"), "Active");
-        getPrisonerById(117).setHealthStatus("Critical");
+                    "FAM117", getAbsoluteImagePath("5.jpg"), "Active", "Critical");
         
         addPrisoner("Bikash Poudel", 35, "Male", "Dharan-12, Sunsari",
                     "Assault", "Aggravated assault",
                     LocalDate.of(2023, 1, 10), 36, "Biratnagar Jail, Morang",
-                    "FAM118", getAbsoluteImagePath("default-prisoner.png"), "Parole");
-        getPrisonerById(118).setHealthStatus("Good");
+                    "FAM118", getAbsoluteImagePath("default-prisoner.png"), "Parole", "Good");
         
         addPrisoner("Nirajan Chhetri", 29, "Male", "Chitwan Bazaar-4, Chitwan",
                     "Cyber Crime", "Hacking and identity theft",
                     LocalDate.of(2024, 6, 5), 36, "Bharatpur Jail, Chitwan",
-                    "FAM119", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(119).setHealthStatus("Fair");
+                    "FAM119", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Dinesh Magar", 38, "Male", "Hetauda-10, Makwanpur",
                     "Corruption", "Bribery and corruption",
                     LocalDate.of(2024, 4, 12), 60, "Central Jail, Kathmandu",
-                    "FAM120", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(120).setHealthStatus("Fair");
+                    "FAM120", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Suresh Rana", 40, "Male", "Pokhara-10, Kaski",
                     "Human Trafficking", "Trafficking of minors",
                     LocalDate.of(2023, 5, 15), 120, "Pokhara Jail, Kaski",
-                    "FAM121", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(121).setHealthStatus("Fair");
+                    "FAM121", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Rajesh Basnet", 34, "Male", "Butwal-7, Rupandehi",
                     "Robbery", "Armed robbery",
                     LocalDate.of(2023, 11, 20), 48, "Bhairahawa Jail, Rupandehi",
-                    "FAM122", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(122).setHealthStatus("Good");
+                    "FAM122", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Gopal Adhikari", 36, "Male", "Biratnagar-5, Morang",
                     "Murder", "Manslaughter during altercation",
                     LocalDate.of(2022, 3, 8), 180, "Biratnagar Jail, Morang",
-                    "FAM123", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(123).setHealthStatus("Poor");
+                    "FAM123", getAbsoluteImagePath("default-prisoner.png"), "Active", "Poor");
         
         addPrisoner("Naresh Bhattarai", 33, "Male", "Kathmandu-28, Kathmandu",
                     "Extortion", "Threatening and extortion",
                     LocalDate.of(2024, 2, 22), 30, "Central Jail, Kathmandu",
-                    "FAM124", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(124).setHealthStatus("Good");
+                    "FAM124", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Kamal Dahal", 41, "Male", "Dhankuta-3, Dhankuta",
                     "Smuggling", "Cross-border smuggling",
                     LocalDate.of(2023, 12, 5), 48, "Biratnagar Jail, Morang",
-                    "FAM125", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(125).setHealthStatus("Good");
+                    "FAM125", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Ramesh Gurung", 37, "Male", "Chitwan-15, Chitwan",
                     "Kidnapping", "Abduction for ransom",
                     LocalDate.of(2023, 7, 10), 96, "Bharatpur Jail, Chitwan",
-                    "FAM126", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(126).setHealthStatus("Fair");
+                    "FAM126", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Umesh Karki", 30, "Male", "Nepalgunj-8, Banke",
                     "Drug Possession", "Large quantity narcotics possession",
                     LocalDate.of(2024, 8, 15), 36, "Nepalgunj Jail, Banke",
-                    "FAM127", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(127).setHealthStatus("Good");
+                    "FAM127", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Bikram Thapa", 31, "Male", "Lalitpur-3, Lalitpur",
                     "Assault", "Domestic violence",
                     LocalDate.of(2024, 9, 20), 18, "Central Jail, Kathmandu",
-                    "FAM128", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(128).setHealthStatus("Fair");
+                    "FAM128", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Sanjib Rai", 44, "Male", "Jhapa-10, Jhapa",
                     "Fraud", "Insurance fraud",
                     LocalDate.of(2024, 1, 30), 24, "Biratnagar Jail, Morang",
-                    "FAM129", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(129).setHealthStatus("Good");
+                    "FAM129", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         // 25-45 Age Group - Females (6)
         addPrisoner("Sita Gurung", 28, "Female", "Lakeside-6, Pokhara",
                     "Fraud", "Cooperative society fraud",
                     LocalDate.of(2024, 5, 20), 24, "Pokhara Jail, Kaski",
-                    "FAM130", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(130).setHealthStatus("Fair");
+                    "FAM130", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Sunita Chaudhary", 30, "Female", "Nepalgunj-3, Banke",
                     "Forgery", "Land document forgery",
                     LocalDate.of(2024, 2, 14), 24, "Nepalgunj Jail, Banke",
-                    "FAM131", getAbsoluteImagePath("default-prisoner.png"), "Transferred");
-        getPrisonerById(131).setHealthStatus("Good");
+                    "FAM131", getAbsoluteImagePath("default-prisoner.png"), "Transferred", "Good");
         
         addPrisoner("Gita Adhikari", 38, "Female", "Butwal-11, Rupandehi",
                     "Smuggling", "Gold smuggling",
                     LocalDate.of(2023, 6, 18), 36, "Bhairahawa Jail, Rupandehi",
-                    "FAM132", getAbsoluteImagePath("default-prisoner.png"), "Parole");
-        getPrisonerById(132).setHealthStatus("Good");
+                    "FAM132", getAbsoluteImagePath("default-prisoner.png"), "Parole", "Good");
         
         addPrisoner("Krishna Shrestha", 33, "Female", "Bhaktapur-9, Bhaktapur",
                     "Robbery", "Jewelry shop robbery",
                     LocalDate.of(2022, 9, 25), 48, "Central Jail, Kathmandu",
-                    "FAM133", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(133).setHealthStatus("Good");
+                    "FAM133", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Puja Tamang", 27, "Female", "Kathmandu-16, Kathmandu",
                     "Drug Trafficking", "Heroin trafficking",
                     LocalDate.of(2023, 10, 5), 72, "Central Jail, Kathmandu",
-                    "FAM134", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(134).setHealthStatus("Poor");
+                    "FAM134", getAbsoluteImagePath("default-prisoner.png"), "Active", "Poor");
         
         addPrisoner("Maya Limbu", 35, "Female", "Dharan-8, Sunsari",
                     "Murder", "Conspiracy to commit murder",
                     LocalDate.of(2021, 4, 12), 180, "Biratnagar Jail, Morang",
-                    "FAM135", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(135).setHealthStatus("Fair");
+                    "FAM135", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         // 45+ Age Group - Males (7)
         addPrisoner("Shyam Prasad Sharma", 52, "Male", "Kathmandu-20, Kathmandu",
                     "Corruption", "Government official corruption",
                     LocalDate.of(2023, 3, 15), 84, "Central Jail, Kathmandu",
-                    "FAM136", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(136).setHealthStatus("Fair");
+                    "FAM136", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Hari Bahadur KC", 48, "Male", "Pokhara-12, Kaski",
                     "Murder", "Premeditated murder",
                     LocalDate.of(2020, 8, 20), 240, "Pokhara Jail, Kaski",
-                    "FAM137", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(137).setHealthStatus("Poor");
+                    "FAM137", getAbsoluteImagePath("default-prisoner.png"), "Active", "Poor");
         
         addPrisoner("Mohan Khadka", 55, "Male", "Biratnagar-10, Morang",
                     "Fraud", "Land fraud and forgery",
                     LocalDate.of(2022, 5, 10), 72, "Biratnagar Jail, Morang",
-                    "FAM138", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(138).setHealthStatus("Good");
+                    "FAM138", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Bishnu Dhakal", 50, "Male", "Chitwan-7, Chitwan",
                     "Human Trafficking", "International trafficking ring",
                     LocalDate.of(2021, 11, 25), 180, "Bharatpur Jail, Chitwan",
-                    "FAM139", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(139).setHealthStatus("Fair");
+                    "FAM139", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Ganesh Paudel", 46, "Male", "Butwal-3, Rupandehi",
                     "Extortion", "Organized extortion racket",
                     LocalDate.of(2023, 2, 8), 96, "Bhairahawa Jail, Rupandehi",
-                    "FAM140", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(140).setHealthStatus("Good");
+                    "FAM140", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Keshav Oli", 49, "Male", "Dhankuta-5, Dhankuta",
                     "Assault", "Attempted murder",
                     LocalDate.of(2022, 7, 14), 120, "Biratnagar Jail, Morang",
-                    "FAM141", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(141).setHealthStatus("Fair");
+                    "FAM141", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         addPrisoner("Mahesh Pandey", 53, "Male", "Nepalgunj-7, Banke",
                     "Smuggling", "Arms smuggling",
                     LocalDate.of(2021, 9, 30), 144, "Nepalgunj Jail, Banke",
-                    "FAM142", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(142).setHealthStatus("Poor");
+                    "FAM142", getAbsoluteImagePath("default-prisoner.png"), "Active", "Poor");
         
         // 45+ Age Group - Females (3)
         addPrisoner("Radha Devi Joshi", 47, "Female", "Lalitpur-8, Lalitpur",
                     "Murder", "Murder of spouse",
                     LocalDate.of(2022, 1, 18), 180, "Central Jail, Kathmandu",
-                    "FAM143", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(143).setHealthStatus("Good");
+                    "FAM143", getAbsoluteImagePath("default-prisoner.png"), "Active", "Good");
         
         addPrisoner("Saraswati Thapa", 51, "Female", "Pokhara-4, Kaski",
                     "Corruption", "Embezzlement of public funds",
                     LocalDate.of(2023, 4, 22), 60, "Pokhara Jail, Kaski",
-                    "FAM144", getAbsoluteImagePath("4.jpg"), "Medical");
-        getPrisonerById(144).setHealthStatus("Critical");
+                    "FAM144", getAbsoluteImagePath("4.jpg"), "Medical", "Critical");
         
         addPrisoner("Laxmi Devkota", 49, "Female", "Bhaktapur-3, Bhaktapur",
                     "Fraud", "Banking and financial fraud",
                     LocalDate.of(2023, 8, 5), 48, "Central Jail, Kathmandu",
-                    "FAM145", getAbsoluteImagePath("default-prisoner.png"), "Active");
-        getPrisonerById(145).setHealthStatus("Fair");
+                    "FAM145", getAbsoluteImagePath("default-prisoner.png"), "Active", "Fair");
         
         System.out.println("✓ Successfully loaded 45 sample prisoner records");
         System.out.println("  - Age Distribution: Under 25 (15), 25-45 (20), 45+ (10)");
@@ -668,7 +959,10 @@ public class PrisonController {
         try {
             VisitRequest request = new VisitRequest(prisonerId, prisonerName, visitorName,
                                                     relationship, preferredDate, purpose);
+            repository.visitRequestAdded(request);
             visitRequests.add(request);
+            visitRequestIndex.add(request);
+            maybeCheckpoint();
             System.out.println("[VISIT REQUEST] New request #" + request.getRequestId() + 
                              " from " + visitorName + " for prisoner " + prisonerName);
             return true;
@@ -687,56 +981,64 @@ public class PrisonController {
     
     /**
      * Get visit requests for a specific prisoner
+     * Uses the prisonerId multimap - O(k) for k requests
      */
     public LinkedList<VisitRequest> getVisitRequestsForPrisoner(int prisonerId) {
-        LinkedList<VisitRequest> filtered = new LinkedList<>();
-        for (VisitRequest request : visitRequests) {
-            if (request.getPrisonerId() == prisonerId) {
-                filtered.add(request);
-            }
-        }
-        return filtered;
+        return visitRequestIndex.forPrisoner(prisonerId);
     }
     
     /**
      * Get pending visit requests count
+     * Reads the live status counter - O(1)
      */
     public int getPendingVisitRequestsCount() {
-        int count = 0;
-        for (VisitRequest request : visitRequests) {
-            if ("Pending".equals(request.getStatus())) {
-                count++;
-            }
-        }
-        return count;
+        return visitRequestIndex.countByStatus("Pending");
+    }
+    
+    /**
+     * Next N pending visit requests by preferred date (then request time)
+     * Read from the pending priority queue - no sort, no scan of processed requests
+     */
+    public LinkedList<VisitRequest> getNextDueVisitRequests(int count) {
+        return visitRequestIndex.getPendingQueue().nextDue(count);
     }
     
     /**
      * Update visit request status
      */
     public boolean updateVisitRequestStatus(int requestId, String newStatus, String adminNotes) {
-        for (VisitRequest request : visitRequests) {
-            if (request.getRequestId() == requestId) {
-                request.setStatus(newStatus);
-                request.setAdminNotes(adminNotes);
-                System.out.println("[VISIT REQUEST] Updated request #" + requestId + 
-                                 " status to: " + newStatus);
-                return true;
-            }
+        VisitRequest request = visitRequestIndex.getById(requestId);
+        if (request == null) {
+            return false;
         }
-        return false;
+        try {
+            repository.visitRequestStatusChanged(requestId, newStatus, adminNotes);
+        } catch (IOException e) {
+            System.err.println("[ERROR] Failed to save visit request update: " + e.getMessage());
+            return false;
+        }
+        visitRequestIndex.changeStatus(request, newStatus);
+        request.setAdminNotes(adminNotes);
+        maybeCheckpoint();
+        System.out.println("[VISIT REQUEST] Updated request #" + requestId + 
+                         " status to: " + newStatus);
+        return true;
+    }
+    
+    /**
+     * Visit requests whose visitor name sounds like the given name
+     * Lets gate staff match an arriving visitor without scrolling the table
+     */
+    public LinkedList<VisitRequest> findVisitRequestsByVisitorName(String visitorName) {
+        return visitRequestIndex.forVisitorSoundingLike(visitorName);
     }
     
     /**
      * Get visit request by ID
+     * Uses the requestId index - O(1)
      */
     public VisitRequest getVisitRequestById(int requestId) {
-        for (VisitRequest request : visitRequests) {
-            if (request.getRequestId() == requestId) {
-                return request;
-            }
-        }
-        return null;
+        return visitRequestIndex.getById(requestId);
     }
     
     /**
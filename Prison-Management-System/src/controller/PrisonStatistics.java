@@ -0,0 +1,170 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import model.CategoryDictionary;
+import model.PrisonerModel;
+
+/**
+ * PrisonStatistics - Dashboard counters kept up to date on every mutation
+ * PrisonerIndex calls record()/unrecord() from the same add/remove paths used
+ * by CRUD and the trash bin, so every getter here is O(1) - the dashboard
+ * never rescans the prisoner list
+ *
+ * Counts by gender, status and location are arrays indexed by the
+ * CategoryDictionary code of the value
+ *
+ * Capacities are configured by PrisonController at startup; until then the
+ * occupancy getters report -1 (unknown)
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonStatistics {
+
+    // Age bucket boundaries: under 25, 25-45, over 45
+    public static final int AGE_BUCKET_UNDER_25 = 0;
+    public static final int AGE_BUCKET_25_TO_45 = 1;
+    public static final int AGE_BUCKET_OVER_45 = 2;
+
+    private int total = 0;
+    private int[] byGender = new int[4];
+    private int[] byStatus = new int[8];
+    private int[] byLocation = new int[16];
+    private final int[] byAgeBucket = new int[3];
+
+    private int totalCapacity = 0; // 0 = sum of the location capacities
+    private int locationCapacitySum = 0;
+    private final LinkedHashMap<String, Integer> locationCapacity = new LinkedHashMap<>();
+
+    /**
+     * Count a prisoner that was just indexed
+     */
+    public void record(PrisonerModel p) {
+        total++;
+        byGender = bump(byGender, p.getGenderCode(), 1);
+        byStatus = bump(byStatus, p.getStatusCode(), 1);
+        byLocation = bump(byLocation, p.getPrisonLocationCode(), 1);
+        byAgeBucket[ageBucketOf(p.getAge())]++;
+    }
+
+    /**
+     * Uncount a prisoner that is being removed from the index (fields not yet changed)
+     */
+    public void unrecord(PrisonerModel p) {
+        total--;
+        byGender = bump(byGender, p.getGenderCode(), -1);
+        byStatus = bump(byStatus, p.getStatusCode(), -1);
+        byLocation = bump(byLocation, p.getPrisonLocationCode(), -1);
+        byAgeBucket[ageBucketOf(p.getAge())]--;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int countByGender(String gender) {
+        return countFor(byGender, CategoryDictionary.GENDER.codeOf(gender));
+    }
+
+    public int countByStatus(String status) {
+        return countFor(byStatus, CategoryDictionary.STATUS.codeOf(status));
+    }
+
+    public int countByLocation(String prisonLocation) {
+        return countFor(byLocation, CategoryDictionary.PRISON_LOCATION.codeOf(prisonLocation));
+    }
+
+    /**
+     * @param bucket AGE_BUCKET_UNDER_25, AGE_BUCKET_25_TO_45 or AGE_BUCKET_OVER_45
+     */
+    public int countByAgeBucket(int bucket) {
+        return byAgeBucket[bucket];
+    }
+
+    /**
+     * Overall occupancy as a percentage of total capacity
+     * @return Percentage, or -1 if no capacity has been configured
+     */
+    public double getOccupancyRate() {
+        int capacity = getTotalCapacity();
+        return capacity <= 0 ? -1 : (total * 100.0) / capacity;
+    }
+
+    /**
+     * Occupancy of one prison location as a percentage of its capacity
+     * @return Percentage, or -1 if no capacity has been set for this location
+     */
+    public double getLocationOccupancyRate(String prisonLocation) {
+        Integer capacity = locationCapacity.get(prisonLocation);
+        if (capacity == null || capacity <= 0) {
+            return -1;
+        }
+        return (countByLocation(prisonLocation) * 100.0) / capacity;
+    }
+
+    /**
+     * Total capacity if set explicitly, otherwise the sum of the location capacities
+     */
+    public int getTotalCapacity() {
+        return totalCapacity > 0 ? totalCapacity : locationCapacitySum;
+    }
+
+    public int getLocationCapacity(String prisonLocation) {
+        Integer capacity = locationCapacity.get(prisonLocation);
+        return capacity == null ? 0 : capacity;
+    }
+
+    /**
+     * Locations with a configured capacity, in the order they were set
+     */
+    public Set<String> getCapacityLocations() {
+        return Collections.unmodifiableSet(locationCapacity.keySet());
+    }
+
+    public void setTotalCapacity(int totalCapacity) {
+        if (totalCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + totalCapacity);
+        }
+        this.totalCapacity = totalCapacity;
+    }
+
+    public void setLocationCapacity(String prisonLocation, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        Integer previous = locationCapacity.put(prisonLocation, capacity);
+        locationCapacitySum += capacity - (previous == null ? 0 : previous);
+    }
+
+    public void clear() {
+        total = 0;
+        Arrays.fill(byGender, 0);
+        Arrays.fill(byStatus, 0);
+        Arrays.fill(byLocation, 0);
+        Arrays.fill(byAgeBucket, 0);
+    }
+
+    static int ageBucketOf(int age) {
+        if (age < 25) return AGE_BUCKET_UNDER_25;
+        if (age <= 45) return AGE_BUCKET_25_TO_45;
+        return AGE_BUCKET_OVER_45;
+    }
+
+    private static int countFor(int[] counts, int code) {
+        return (code >= 0 && code < counts.length) ? counts[code] : 0;
+    }
+
+    // Add delta to counts[code], growing the array for new dictionary codes
+    private static int[] bump(int[] counts, int code, int delta) {
+        if (code == CategoryDictionary.NO_CODE) {
+            return counts;
+        }
+        if (code >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(code + 1, counts.length * 2));
+        }
+        counts[code] += delta;
+        return counts;
+    }
+}
@@ -0,0 +1,201 @@
+package controller;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import model.CategoryDictionary;
+import model.PrisonerModel;
+
+/**
+ * PrisonerColumnStore - Column-oriented (struct-of-arrays) copy of prisoner fields
+ * One primitive array per field, indexed by the dense row number that
+ * PrisonerIndex assigns. Sorting and statistics loop over contiguous int
+ * arrays instead of following LinkedList nodes to PrisonerModel objects
+ *
+ * Dates are stored as epoch days, categorical fields as CategoryDictionary
+ * codes. PrisonerModel stays the record the rest of the app works with; the
+ * prisoners[] column maps a row back to it
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonerColumnStore {
+
+    /** Epoch-day value stored for a missing date */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private int capacity = 64;
+    private int rowLimit = 0; // rows [0, rowLimit) may be in use
+
+    private PrisonerModel[] prisoners = new PrisonerModel[capacity];
+    private int[] ids = new int[capacity];
+    private int[] ages = new int[capacity];
+    private int[] sentenceMonths = new int[capacity];
+    private int[] admissionDays = new int[capacity];
+    private int[] releaseDays = new int[capacity];
+    private int[] genderCodes = new int[capacity];
+    private int[] statusCodes = new int[capacity];
+    private int[] crimeTypeCodes = new int[capacity];
+    private int[] locationCodes = new int[capacity];
+
+    private int liveCount = 0;
+
+    /**
+     * Copy a prisoner's fields into the columns at a row
+     */
+    public void set(int row, PrisonerModel p) {
+        ensureCapacity(row + 1);
+        if (prisoners[row] == null) {
+            liveCount++;
+        }
+        prisoners[row] = p;
+        ids[row] = p.getPrisonerId();
+        ages[row] = p.getAge();
+        sentenceMonths[row] = p.getSentenceDuration();
+        admissionDays[row] = toEpochDay(p.getAdmissionDate());
+        releaseDays[row] = toEpochDay(p.getReleaseDate());
+        genderCodes[row] = p.getGenderCode();
+        statusCodes[row] = p.getStatusCode();
+        crimeTypeCodes[row] = p.getCrimeTypeCode();
+        locationCodes[row] = p.getPrisonLocationCode();
+        if (row >= rowLimit) {
+            rowLimit = row + 1;
+        }
+    }
+
+    /**
+     * Mark a row as unused
+     */
+    public void clear(int row) {
+        if (row < rowLimit && prisoners[row] != null) {
+            prisoners[row] = null;
+            liveCount--;
+        }
+    }
+
+    public void clearAll() {
+        Arrays.fill(prisoners, 0, rowLimit, null);
+        rowLimit = 0;
+        liveCount = 0;
+    }
+
+    /**
+     * Record at a row, or null if the row is unused
+     */
+    public PrisonerModel prisonerAt(int row) {
+        return row < rowLimit ? prisoners[row] : null;
+    }
+
+    public boolean isLive(int row) {
+        return row < rowLimit && prisoners[row] != null;
+    }
+
+    public int getRowLimit() {
+        return rowLimit;
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Primitive column for a sortable numeric field, or null if the field has none
+     * @param field "Prisoner ID"/"ID", "Age", "Sentence Duration", "Admission Date", "Release Date"
+     */
+    public int[] numericColumn(String field) {
+        switch (field) {
+            case "Prisoner ID":
+            case "ID":
+                return ids;
+            case "Age":
+                return ages;
+            case "Sentence Duration":
+                return sentenceMonths;
+            case "Admission Date":
+                return admissionDays;
+            case "Release Date":
+                return releaseDays;
+            default:
+                return null;
+        }
+    }
+
+    // ===== Aggregates (single pass over primitive columns) =====
+
+    public double averageAge() {
+        long total = 0;
+        for (int row = 0; row < rowLimit; row++) {
+            if (prisoners[row] != null) {
+                total += ages[row];
+            }
+        }
+        return liveCount == 0 ? 0 : (double) total / liveCount;
+    }
+
+    public double averageSentenceMonths() {
+        long total = 0;
+        for (int row = 0; row < rowLimit; row++) {
+            if (prisoners[row] != null) {
+                total += sentenceMonths[row];
+            }
+        }
+        return liveCount == 0 ? 0 : (double) total / liveCount;
+    }
+
+    /**
+     * Number of prisoners with minAge <= age <= maxAge
+     */
+    public int countAgeBetween(int minAge, int maxAge) {
+        int count = 0;
+        for (int row = 0; row < rowLimit; row++) {
+            if (prisoners[row] != null && ages[row] >= minAge && ages[row] <= maxAge) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of prisoners per dictionary code of a categorical field
+     * @param dictionary One of GENDER, STATUS, CRIME_TYPE, PRISON_LOCATION
+     * @return counts[code]
+     */
+    public int[] countByCode(CategoryDictionary dictionary) {
+        int[] column = codeColumn(dictionary);
+        int[] counts = new int[dictionary.size()];
+        for (int row = 0; row < rowLimit; row++) {
+            int code = column[row];
+            if (prisoners[row] != null && code >= 0 && code < counts.length) {
+                counts[code]++;
+            }
+        }
+        return counts;
+    }
+
+    private int[] codeColumn(CategoryDictionary dictionary) {
+        if (dictionary == CategoryDictionary.GENDER) return genderCodes;
+        if (dictionary == CategoryDictionary.STATUS) return statusCodes;
+        if (dictionary == CategoryDictionary.CRIME_TYPE) return crimeTypeCodes;
+        if (dictionary == CategoryDictionary.PRISON_LOCATION) return locationCodes;
+        throw new IllegalArgumentException("No column for " + dictionary.getFieldName());
+    }
+
+    static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= capacity) {
+            return;
+        }
+        capacity = Math.max(needed, capacity * 2);
+        prisoners = Arrays.copyOf(prisoners, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        sentenceMonths = Arrays.copyOf(sentenceMonths, capacity);
+        admissionDays = Arrays.copyOf(admissionDays, capacity);
+        releaseDays = Arrays.copyOf(releaseDays, capacity);
+        genderCodes = Arrays.copyOf(genderCodes, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        crimeTypeCodes = Arrays.copyOf(crimeTypeCodes, capacity);
+        locationCodes = Arrays.copyOf(locationCodes, capacity);
+    }
+}
@@ -0,0 +1,77 @@
+package controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import model.PrisonerModel;
+
+/**
+ * PrisonerField - Every queryable field of PrisonerModel
+ * Used by PrisonerQuery predicates to read a value from a record
+ *
+ * @author Anjal Bhattarai
+ */
+public enum PrisonerField {
+    PRISONER_ID,
+    NAME,
+    AGE,
+    GENDER,
+    ADDRESS,
+    CRIME_TYPE,
+    CRIME_DESCRIPTION,
+    ADMISSION_DATE,
+    SENTENCE_DURATION,
+    RELEASE_DATE,
+    STATUS,
+    PRISON_LOCATION,
+    HEALTH_STATUS,
+    FAMILY_CODE,
+    PHOTO_PATH;
+
+    /**
+     * Value of this field on a prisoner (Integer, String or LocalDate)
+     */
+    public Object valueOf(PrisonerModel p) {
+        switch (this) {
+            case PRISONER_ID: return p.getPrisonerId();
+            case NAME: return p.getName();
+            case AGE: return p.getAge();
+            case GENDER: return p.getGender();
+            case ADDRESS: return p.getAddress();
+            case CRIME_TYPE: return p.getCrimeType();
+            case CRIME_DESCRIPTION: return p.getCrimeDescription();
+            case ADMISSION_DATE: return p.getAdmissionDate();
+            case SENTENCE_DURATION: return p.getSentenceDuration();
+            case RELEASE_DATE: return p.getReleaseDate();
+            case STATUS: return p.getStatus();
+            case PRISON_LOCATION: return p.getPrisonLocation();
+            case HEALTH_STATUS: return p.getHealthStatus();
+            case FAMILY_CODE: return p.getFamilyCode();
+            case PHOTO_PATH: return p.getPhotoPath();
+            default: throw new IllegalStateException("Unknown field " + this);
+        }
+    }
+
+    /**
+     * Typed query value from text: Integer for ID, age and sentence,
+     * LocalDate (yyyy-mm-dd) for the dates, the text itself otherwise
+     * @throws IllegalArgumentException if the text does not fit the field's type
+     */
+    public Comparable<?> parseValue(String text) {
+        try {
+            switch (this) {
+                case PRISONER_ID:
+                case AGE:
+                case SENTENCE_DURATION:
+                    return Integer.valueOf(text.trim());
+                case ADMISSION_DATE:
+                case RELEASE_DATE:
+                    return LocalDate.parse(text.trim());
+                default:
+                    return text;
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(this + " needs a " + (this == ADMISSION_DATE || this == RELEASE_DATE
+                    ? "date (yyyy-mm-dd)" : "whole number") + ", not '" + text.trim() + "'", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PrisonerIdAllocator - Hands out prisoner IDs from a high-water mark
+ * Replaces the old "scan the list for the max ID" approach: every call is O(1)
+ * and thread-safe (AtomicInteger, no locking)
+ *
+ * IDs only ever move forward, so an ID that is sitting in the trash bin is
+ * never handed out again and can always be restored. After a restart, whatever
+ * loads the records calls reserveThrough(id) for each of them (or once with the
+ * saved high-water mark) and allocation resumes after the largest ID seen.
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonerIdAllocator {
+
+    private final AtomicInteger nextId;
+
+    /**
+     * @param firstId The first ID to hand out when no records exist (e.g. 101)
+     */
+    public PrisonerIdAllocator(int firstId) {
+        this.nextId = new AtomicInteger(firstId);
+    }
+
+    /**
+     * Allocate a single new ID - O(1)
+     */
+    public int allocate() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Allocate a contiguous block of IDs for batch intake - O(1)
+     * @param count Number of IDs needed (must be positive)
+     * @return The first ID of the block; the block is [first, first + count)
+     */
+    public int allocateBlock(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + count);
+        }
+        return nextId.getAndAdd(count);
+    }
+
+    /**
+     * Next ID that allocate() would return, without consuming it (for UI preview)
+     */
+    public int peekNextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Make sure an existing ID (loaded or restored record) is never reissued
+     * Moves the high-water mark past prisonerId if it is not already
+     */
+    public void reserveThrough(int prisonerId) {
+        nextId.accumulateAndGet(prisonerId + 1, Math::max);
+    }
+
+    /**
+     * Highest ID handed out or reserved so far (next ID - 1)
+     * Save this to resume allocation after a restart
+     */
+    public int getHighWaterMark() {
+        return nextId.get() - 1;
+    }
+}
@@ -0,0 +1,292 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Locale;
+import model.CategoryDictionary;
+import model.PrisonerModel;
+
+/**
+ * PrisonerIndex - The active prisoners and every lookup structure over them
+ * CRUD and TrashBinOperation add, replace and remove records here; the
+ * controller publishes the ordered list for readers as a PrisonerSnapshot,
+ * so no lookup or update ever walks a list
+ *
+ * Primary key: IntObjectHashMap prisonerId → PrisonerModel, O(1) average lookup, no boxing
+ * Name key: ObjectIntHashMap normalized name → prisonerId, O(1) duplicate-name check
+ * Ordered IDs: SortedIdIndex, O(log n) binary search and ID-range queries
+ * Substrings: TrigramIndex over name and crime type for substring search
+ * Misspellings: BkTree over name words for edit-distance (fuzzy) search
+ * Sounds-like: PhoneticIndex over name words, one hash probe per word
+ * Type-ahead: PrefixTrie over names + crime types, and over ID digit strings
+ * Categories: BitmapIndex on status, crime type, prison location and gender,
+ *   keyed by a dense row number (freed rows are reused) so multi-criteria
+ *   filters are bitmap AND/OR operations
+ * Columns: PrisonerColumnStore, primitive arrays per field on the same rows
+ * Dates: DateIndex on release date ("releases in the next N days") and on
+ *   admission date (date-range queries, monthly intake)
+ * Counters: PrisonStatistics for the dashboard, O(1) reads
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonerIndex {
+
+    private static final int NO_ID = -1; // prisoner IDs are positive
+
+    private final IntObjectHashMap<PrisonerModel> byId = new IntObjectHashMap<>();
+    private final ObjectIntHashMap<String> idByName = new ObjectIntHashMap<>(NO_ID);
+    private final SortedIdIndex sortedIds = new SortedIdIndex();
+    private final TrigramIndex trigrams = new TrigramIndex();
+    private final BkTree nameTokens = new BkTree();
+    private final PhoneticIndex nameSounds = new PhoneticIndex();
+    private final PrefixTrie textCompletions = new PrefixTrie();
+    private final PrefixTrie idCompletions = new PrefixTrie();
+    private final DateIndex releaseDates = new DateIndex("releaseDate");
+    private final DateIndex admissionDates = new DateIndex("admissionDate");
+    private final PrisonStatistics statistics = new PrisonStatistics();
+    
+    // Dense row numbers for the bitmap indexes and column store
+    private final IntIntHashMap rowById = new IntIntHashMap(-1);
+    private final PrisonerColumnStore columns = new PrisonerColumnStore();
+    private int rowLimit = 0;              // rows [0, rowLimit) have been handed out at least once
+    private int[] freeRows = new int[16];  // stack of released rows
+    private int freeCount = 0;
+    
+    private final BitmapIndex statusIndex = new BitmapIndex(CategoryDictionary.STATUS);
+    private final BitmapIndex crimeTypeIndex = new BitmapIndex(CategoryDictionary.CRIME_TYPE);
+    private final BitmapIndex locationIndex = new BitmapIndex(CategoryDictionary.PRISON_LOCATION);
+    private final BitmapIndex genderIndex = new BitmapIndex(CategoryDictionary.GENDER);
+
+    /**
+     * Register a prisoner that was just admitted or restored
+     */
+    public void add(PrisonerModel prisoner) {
+        byId.put(prisoner.getPrisonerId(), prisoner);
+        idByName.put(normalizeName(prisoner.getName()), prisoner.getPrisonerId());
+        sortedIds.insert(prisoner);
+        trigrams.add(prisoner);
+        nameTokens.add(prisoner);
+        nameSounds.add(prisoner.getPrisonerId(), prisoner.getName());
+        textCompletions.add(prisoner.getName());
+        textCompletions.add(prisoner.getCrimeType());
+        idCompletions.add(String.valueOf(prisoner.getPrisonerId()));
+        releaseDates.add(prisoner.getReleaseDate(), prisoner);
+        admissionDates.add(prisoner.getAdmissionDate(), prisoner);
+        statistics.record(prisoner);
+        
+        int row = allocateRow();
+        columns.set(row, prisoner);
+        rowById.put(prisoner.getPrisonerId(), row);
+        statusIndex.add(prisoner.getStatusCode(), row);
+        crimeTypeIndex.add(prisoner.getCrimeTypeCode(), row);
+        locationIndex.add(prisoner.getPrisonLocationCode(), row);
+        genderIndex.add(prisoner.getGenderCode(), row);
+    }
+
+    /**
+     * Unregister a prisoner that is being deleted
+     */
+    public void remove(PrisonerModel prisoner) {
+        byId.remove(prisoner.getPrisonerId());
+        idByName.remove(normalizeName(prisoner.getName()), prisoner.getPrisonerId());
+        sortedIds.remove(prisoner.getPrisonerId());
+        trigrams.remove(prisoner);
+        nameTokens.remove(prisoner);
+        nameSounds.remove(prisoner.getPrisonerId(), prisoner.getName());
+        textCompletions.remove(prisoner.getName());
+        textCompletions.remove(prisoner.getCrimeType());
+        idCompletions.remove(String.valueOf(prisoner.getPrisonerId()));
+        releaseDates.remove(prisoner.getReleaseDate(), prisoner);
+        admissionDates.remove(prisoner.getAdmissionDate(), prisoner);
+        
+        int row = rowById.remove(prisoner.getPrisonerId());
+        if (row >= 0) {
+            statistics.unrecord(prisoner);
+            statusIndex.remove(prisoner.getStatusCode(), row);
+            crimeTypeIndex.remove(prisoner.getCrimeTypeCode(), row);
+            locationIndex.remove(prisoner.getPrisonLocationCode(), row);
+            genderIndex.remove(prisoner.getGenderCode(), row);
+            columns.clear(row);
+            releaseRow(row);
+        }
+    }
+
+    /**
+     * Swap a record for its updated copy (same prisoner ID)
+     * remove() releases the prisoner's row (looked up by ID) to the top of the
+     * free-row stack and add() takes it straight back, so the replacement keeps
+     * the same row in the column store and bitmaps - no list is searched
+     */
+    public void replace(PrisonerModel current, PrisonerModel replacement) {
+        remove(current);
+        add(replacement);
+    }
+
+    /**
+     * Primary key lookup - O(1) average
+     * @return PrisonerModel or null if no prisoner has this ID
+     */
+    public PrisonerModel getById(int prisonerId) {
+        return byId.get(prisonerId);
+    }
+
+    public boolean containsId(int prisonerId) {
+        return byId.containsKey(prisonerId);
+    }
+
+    /**
+     * Case-insensitive uniqueness check - O(1) average
+     * @param name Name to check (trimmed and lowercased before lookup)
+     * @param excludeId ID allowed to own the name (the prisoner being updated), or 0
+     * @return true if another prisoner already uses this name
+     */
+    public boolean isNameTaken(String name, int excludeId) {
+        int ownerId = idByName.get(normalizeName(name));
+        return ownerId != NO_ID && ownerId != excludeId;
+    }
+
+    /**
+     * Name key lookup (case-insensitive) - O(1) average
+     * @return PrisonerModel or null if no prisoner has this name
+     */
+    public PrisonerModel getByName(String name) {
+        int id = idByName.get(normalizeName(name));
+        return id == NO_ID ? null : byId.get(id);
+    }
+
+    /**
+     * Prisoner IDs in ascending order (always sorted, never re-sorted)
+     */
+    public SortedIdIndex getSortedIds() {
+        return sortedIds;
+    }
+
+    /**
+     * Trigram index over name and crime type
+     */
+    public TrigramIndex getTrigrams() {
+        return trigrams;
+    }
+
+    public BkTree getNameTokens() {
+        return nameTokens;
+    }
+
+    public PhoneticIndex getNameSounds() {
+        return nameSounds;
+    }
+
+    public PrefixTrie getTextCompletions() {
+        return textCompletions;
+    }
+
+    public PrefixTrie getIdCompletions() {
+        return idCompletions;
+    }
+
+    /**
+     * Release dates in calendar order
+     */
+    public DateIndex getReleaseDates() {
+        return releaseDates;
+    }
+
+    /**
+     * Admission dates in calendar order
+     */
+    public DateIndex getAdmissionDates() {
+        return admissionDates;
+    }
+
+    /**
+     * Live dashboard counters
+     */
+    public PrisonStatistics getStatistics() {
+        return statistics;
+    }
+
+    public BitmapIndex getStatusIndex() {
+        return statusIndex;
+    }
+
+    public BitmapIndex getCrimeTypeIndex() {
+        return crimeTypeIndex;
+    }
+
+    public BitmapIndex getLocationIndex() {
+        return locationIndex;
+    }
+
+    public BitmapIndex getGenderIndex() {
+        return genderIndex;
+    }
+
+    /**
+     * Column-oriented copy of the indexed prisoners, on the same row numbers
+     */
+    public PrisonerColumnStore getColumns() {
+        return columns;
+    }
+
+    /**
+     * Prisoners for a set of rows (e.g. the result of a bitmap AND), in row order
+     */
+    public LinkedList<PrisonerModel> prisonersForRows(RowBitmap rowSet) {
+        LinkedList<PrisonerModel> result = new LinkedList<>();
+        for (int row : rowSet.toArray()) {
+            PrisonerModel p = columns.prisonerAt(row);
+            if (p != null) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normalized form used as the name key: trimmed, lowercase
+     */
+    static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        idByName.clear();
+        sortedIds.clear();
+        trigrams.clear();
+        nameTokens.clear();
+        nameSounds.clear();
+        textCompletions.clear();
+        idCompletions.clear();
+        releaseDates.clear();
+        admissionDates.clear();
+        statistics.clear();
+        rowById.clear();
+        columns.clearAll();
+        rowLimit = 0;
+        freeCount = 0;
+        statusIndex.clear();
+        crimeTypeIndex.clear();
+        locationIndex.clear();
+        genderIndex.clear();
+    }
+
+    // Reuse the most recently released row if any, otherwise take a new one
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        return rowLimit++;
+    }
+
+    private void releaseRow(int row) {
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+}
@@ -0,0 +1,294 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import model.PrisonerModel;
+
+/**
+ * PrisonerQuery - Composable filter over any PrisonerModel field
+ * Build with the static factories and combine with and()/or():
+ *
+ *   PrisonerQuery.and(
+ *       PrisonerQuery.eq(PrisonerField.STATUS, "Active"),
+ *       PrisonerQuery.between(PrisonerField.AGE, 25, 45),
+ *       PrisonerQuery.contains(PrisonerField.NAME, "thapa"))
+ *
+ * or parse the same query from text with parse():
+ *
+ *   status = Active and age = 25..45 and name ~ thapa
+ *
+ * Run it through PrisonController.runQuery - QueryPlanner decides which index
+ * (if any) produces the candidates, and test() checks each candidate
+ *
+ * @author Anjal Bhattarai
+ */
+public abstract class PrisonerQuery {
+
+    /**
+     * True if the prisoner satisfies this predicate
+     */
+    public abstract boolean test(PrisonerModel p);
+
+    // ===== Factories =====
+
+    /** field equals value (exact match; Integer, String or LocalDate value) */
+    public static PrisonerQuery eq(PrisonerField field, Object value) {
+        return new Eq(field, value);
+    }
+
+    /** field contains text (case-insensitive substring, String fields) */
+    public static PrisonerQuery contains(PrisonerField field, String text) {
+        return new Contains(field, text);
+    }
+
+    /** from <= field <= to; either bound may be null for an open range */
+    public static <T extends Comparable<? super T>> PrisonerQuery between(PrisonerField field, T from, T to) {
+        return new Between(field, from, to);
+    }
+
+    /** every sub-query matches */
+    public static PrisonerQuery and(PrisonerQuery... parts) {
+        return new And(Arrays.asList(parts));
+    }
+
+    /** at least one sub-query matches */
+    public static PrisonerQuery or(PrisonerQuery... parts) {
+        return new Or(Arrays.asList(parts));
+    }
+
+    // ===== Text form =====
+
+    /**
+     * Parse a filter typed by the admin
+     *   condition:  field = value      exact match (case-sensitive)
+     *               field ~ text       contains, ignoring case
+     *               field = from..to   inclusive range; either end may be left out
+     *   conditions are joined with "and" / "or"; and binds tighter than or
+     * Field names are PrisonerField names in any case, with spaces for underscores
+     * ("crime type"). Values containing " and " / " or " can be put in double quotes
+     * @throws IllegalArgumentException with a message for the admin if the text is not a query
+     */
+    public static PrisonerQuery parse(String text) {
+        List<PrisonerQuery> alternatives = new ArrayList<>();
+        for (String alternative : splitOnWord(text, "or")) {
+            List<PrisonerQuery> conditions = new ArrayList<>();
+            for (String condition : splitOnWord(alternative, "and")) {
+                conditions.add(parseCondition(condition));
+            }
+            alternatives.add(conditions.size() == 1 ? conditions.get(0) : new And(conditions));
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Or(alternatives);
+    }
+
+    private static PrisonerQuery parseCondition(String condition) {
+        int op = indexOfUnquoted(condition, "=~");
+        if (op < 0) {
+            throw new IllegalArgumentException("Condition needs = or ~: '" + condition + "'");
+        }
+        PrisonerField field = parseField(condition.substring(0, op));
+        String value = condition.substring(op + 1).trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Condition has no value: '" + condition + "'");
+        }
+        if (condition.charAt(op) == '~') {
+            return contains(field, unquote(value));
+        }
+        int range = value.startsWith("\"") ? -1 : value.indexOf("..");
+        if (range < 0) {
+            return eq(field, field.parseValue(unquote(value)));
+        }
+        String from = value.substring(0, range).trim();
+        String to = value.substring(range + 2).trim();
+        if (from.isEmpty() && to.isEmpty()) {
+            throw new IllegalArgumentException("Range has no bounds: '" + condition + "'");
+        }
+        return new Between(field, from.isEmpty() ? null : field.parseValue(unquote(from)),
+                           to.isEmpty() ? null : field.parseValue(unquote(to)));
+    }
+
+    private static PrisonerField parseField(String name) {
+        String key = name.trim().toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+        try {
+            return PrisonerField.valueOf(key);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field '" + name.trim() + "'", e);
+        }
+    }
+
+    // Split on a whole word (any case, bounded by spaces or the ends) outside double quotes
+    private static List<String> splitOnWord(String text, String word) {
+        List<String> pieces = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int end = i + word.length();
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && text.regionMatches(true, i, word, 0, word.length())
+                       && (i == 0 || Character.isWhitespace(text.charAt(i - 1)))
+                       && (end == text.length() || Character.isWhitespace(text.charAt(end)))) {
+                pieces.add(text.substring(start, i));
+                start = end;
+                i = end - 1;
+            }
+        }
+        pieces.add(text.substring(start));
+        for (int i = 0; i < pieces.size(); i++) {
+            String piece = pieces.get(i).trim();
+            if (piece.isEmpty()) {
+                throw new IllegalArgumentException("Missing condition next to '" + word + "'");
+            }
+            pieces.set(i, piece);
+        }
+        return pieces;
+    }
+
+    private static int indexOfUnquoted(String text, String chars) {
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && chars.indexOf(c) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    // ===== Predicate types =====
+
+    public static final class Eq extends PrisonerQuery {
+        final PrisonerField field;
+        final Object value;
+
+        Eq(PrisonerField field, Object value) {
+            this.field = field;
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(PrisonerModel p) {
+            return Objects.equals(field.valueOf(p), value);
+        }
+
+        @Override
+        public String toString() {
+            return field + " = " + value;
+        }
+    }
+
+    public static final class Contains extends PrisonerQuery {
+        final PrisonerField field;
+        final String text; // lowercased
+
+        Contains(PrisonerField field, String text) {
+            this.field = field;
+            this.text = text.trim().toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean test(PrisonerModel p) {
+            Object v = field.valueOf(p);
+            return v != null && v.toString().toLowerCase(Locale.ROOT).contains(text);
+        }
+
+        @Override
+        public String toString() {
+            return field + " contains '" + text + "'";
+        }
+    }
+
+    public static final class Between extends PrisonerQuery {
+        final PrisonerField field;
+        final Comparable<Object> from;
+        final Comparable<Object> to;
+
+        @SuppressWarnings("unchecked")
+        Between(PrisonerField field, Comparable<?> from, Comparable<?> to) {
+            this.field = field;
+            this.from = (Comparable<Object>) from;
+            this.to = (Comparable<Object>) to;
+        }
+
+        @Override
+        public boolean test(PrisonerModel p) {
+            Object v = field.valueOf(p);
+            if (v == null) {
+                return false;
+            }
+            return (from == null || from.compareTo(v) <= 0) && (to == null || to.compareTo(v) >= 0);
+        }
+
+        @Override
+        public String toString() {
+            return field + " between " + (from == null ? "-inf" : from) + " and " + (to == null ? "+inf" : to);
+        }
+    }
+
+    public static final class And extends PrisonerQuery {
+        final List<PrisonerQuery> parts;
+
+        And(List<PrisonerQuery> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean test(PrisonerModel p) {
+            for (PrisonerQuery q : parts) {
+                if (!q.test(p)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return join(parts, " AND ");
+        }
+    }
+
+    public static final class Or extends PrisonerQuery {
+        final List<PrisonerQuery> parts;
+
+        Or(List<PrisonerQuery> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean test(PrisonerModel p) {
+            for (PrisonerQuery q : parts) {
+                if (q.test(p)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return join(parts, " OR ");
+        }
+    }
+
+    private static String join(List<PrisonerQuery> parts, String op) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) sb.append(op);
+            sb.append(parts.get(i));
+        }
+        return sb.append(")").toString();
+    }
+}
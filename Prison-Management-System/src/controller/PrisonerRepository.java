@@ -0,0 +1,114 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * PrisonerRepository - Where prisoners, the trash bin and visit requests are stored
+ *
+ * PrisonController keeps the working set in memory (list, indexes, snapshot)
+ * and writes every change through to the repository before applying it, so a
+ * failed write leaves nothing changed. On startup load() returns the stored
+ * state, or null on a first start (the controller then loads sample data and
+ * hands it to saveAll). If load() or that first saveAll() fails the controller
+ * refuses to start rather than run on sample data
+ *
+ * Every backend hands the whole state to the controller, which keeps it on
+ * the heap; the backend decides durability and tooling, not how many
+ * prisoners fit
+ *
+ * Implementations:
+ *   InMemoryPrisonerRepository - nothing stored (previous behaviour)
+ *   FilePrisonerRepository     - write-ahead log + snapshot files
+ *   JdbcPrisonerRepository     - tables in an embedded database such as H2
+ *
+ * @author Anjal Bhattarai
+ */
+public interface PrisonerRepository extends AutoCloseable {
+
+    /**
+     * Read the stored state
+     * @return The state, or null if nothing has been stored yet
+     */
+    RepositoryState load() throws IOException;
+
+    /**
+     * Replace everything stored with this state (first start, bulk import)
+     */
+    void saveAll(RepositoryState state) throws IOException;
+
+    /**
+     * A prisoner was added or edited (full after-image)
+     */
+    void prisonerSaved(PrisonerModel prisoner) throws IOException;
+
+    void prisonerStatusChanged(int prisonerId, String status) throws IOException;
+
+    /**
+     * A prisoner was moved to the top of the trash stack
+     */
+    void prisonerDeleted(int prisonerId) throws IOException;
+
+    /**
+     * The top of the trash stack was restored
+     */
+    void trashRestored(int prisonerId) throws IOException;
+
+    /**
+     * Every prisoner in the trash was purged
+     */
+    void trashEmptied() throws IOException;
+
+    void visitRequestAdded(VisitRequest request) throws IOException;
+
+    void visitRequestStatusChanged(int requestId, String status, String adminNotes) throws IOException;
+
+    /**
+     * true when the store would like a full saveAll (e.g. its change log grew large)
+     */
+    default boolean wantsCompaction() {
+        return false;
+    }
+
+    /**
+     * Human-readable description for logs and the status bar
+     */
+    String describe();
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Repository selected by system properties, so the backend can be chosen per
+     * deployment without code changes:
+     *   -Dprison.repository = memory (default, nothing written to disk) | file | jdbc
+     *   -Dprison.dataDir    = directory for the file backend (default prison-data)
+     *   -Dprison.jdbcUrl    = JDBC URL (default jdbc:h2:file:./prison-data/prison)
+     *   -Dprison.jdbcUser / -Dprison.jdbcPassword
+     */
+    static PrisonerRepository fromSystemProperties() {
+        String kind = System.getProperty("prison.repository", "memory").trim().toLowerCase();
+        switch (kind) {
+            case "memory":
+                return new InMemoryPrisonerRepository();
+            case "jdbc":
+                return new JdbcPrisonerRepository(
+                    System.getProperty("prison.jdbcUrl", "jdbc:h2:file:./prison-data/prison"),
+                    System.getProperty("prison.jdbcUser", "sa"),
+                    System.getProperty("prison.jdbcPassword", ""));
+            case "file":
+                String dir = System.getProperty("prison.dataDir", "prison-data");
+                if (dir.trim().isEmpty()) {
+                    return new InMemoryPrisonerRepository();
+                }
+                Path dataDir = Paths.get(dir);
+                return new FilePrisonerRepository(dataDir);
+            default:
+                throw new IllegalArgumentException("Unknown prison.repository '" + kind
+                    + "' (expected memory, file or jdbc)");
+        }
+    }
+}
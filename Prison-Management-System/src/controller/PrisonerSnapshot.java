@@ -0,0 +1,104 @@
+package controller;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import model.PrisonerModel;
+
+/**
+ * PrisonerSnapshot - Immutable, epoch-stamped view of the prisoner list
+ *
+ * PrisonController publishes a new snapshot after every write (volatile field),
+ * and readers (table rendering, sorting, reports) iterate whichever snapshot
+ * they picked up - no lock, no ConcurrentModificationException, even if the
+ * list changes while they are still reading
+ *
+ * Publishing is cheap: an add appends into spare capacity of the shared array
+ * past the end of every earlier snapshot (O(1) amortized), so older snapshots
+ * never see the change. A delete or an update copies the array (O(n)).
+ * Only one writer may derive snapshots (PrisonController on the EDT)
+ *
+ * Records are copy-on-write too: CRUD never modifies a published PrisonerModel,
+ * an update replaces it with a new object, so a reader never sees a half-updated
+ * record and a sort comparing records cannot see them change underneath it
+ *
+ * @author Anjal Bhattarai
+ */
+public final class PrisonerSnapshot extends AbstractList<PrisonerModel> implements RandomAccess {
+
+    public static final PrisonerSnapshot EMPTY = new PrisonerSnapshot(new PrisonerModel[0], 0, 0);
+
+    private final PrisonerModel[] items;  // shared with later snapshots; only [0, size) belongs to this one
+    private final int size;
+    private final long epoch;
+
+    private PrisonerSnapshot(PrisonerModel[] items, int size, long epoch) {
+        this.items = items;
+        this.size = size;
+        this.epoch = epoch;
+    }
+
+    @Override
+    public PrisonerModel get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return items[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Publication counter - a reader can compare epochs to see if the list changed
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    // ===== Writer side (single writer) =====
+
+    /**
+     * Snapshot with the prisoner appended
+     */
+    PrisonerSnapshot withAdded(PrisonerModel prisoner) {
+        PrisonerModel[] target = items;
+        if (size == target.length) {
+            target = Arrays.copyOf(items, Math.max(16, size * 2));
+        }
+        target[size] = prisoner;  // beyond every published size, invisible to older snapshots
+        return new PrisonerSnapshot(target, size + 1, epoch + 1);
+    }
+
+    /**
+     * Snapshot without the given record (matched by identity)
+     */
+    PrisonerSnapshot without(PrisonerModel prisoner) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == prisoner) {
+                PrisonerModel[] copy = new PrisonerModel[items.length];
+                System.arraycopy(items, 0, copy, 0, i);
+                System.arraycopy(items, i + 1, copy, i, size - i - 1);
+                return new PrisonerSnapshot(copy, size - 1, epoch + 1);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Snapshot with one record (matched by identity) swapped for its replacement, same position
+     */
+    PrisonerSnapshot replaced(PrisonerModel current, PrisonerModel replacement) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == current) {
+                PrisonerModel[] copy = new PrisonerModel[items.length];
+                System.arraycopy(items, 0, copy, 0, size);
+                copy[i] = replacement;
+                return new PrisonerSnapshot(copy, size, epoch + 1);
+            }
+        }
+        return this;
+    }
+}
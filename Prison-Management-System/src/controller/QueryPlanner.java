@@ -0,0 +1,265 @@
+package controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.function.Supplier;
+import model.PrisonerModel;
+
+/**
+ * QueryPlanner - Picks an access path for a PrisonerQuery and runs it
+ *
+ * Each predicate is mapped to the index that can answer it, with an estimate
+ * of how many candidates that index would return:
+ *   PRISONER_ID =, between      → primary key / SortedIdIndex
+ *   NAME =                      → name index
+ *   STATUS, CRIME_TYPE,
+ *   PRISON_LOCATION, GENDER =   → bitmap index (exact count)
+ *   ADMISSION/RELEASE_DATE =,
+ *   between                     → DateIndex range
+ *   NAME, CRIME_TYPE contains   → TrigramIndex (terms of 3+ characters)
+ *   anything else               → full scan
+ * AND uses the most selective child (bitmap children are ANDed together first);
+ * OR unions its children, or scans if any child needs a scan. The full query
+ * is then evaluated on each candidate, so the index only has to narrow things down
+ *
+ * @author Anjal Bhattarai
+ */
+public class QueryPlanner {
+
+    private final PrisonerIndex index;
+
+    public QueryPlanner(PrisonerIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Plan and run a query
+     * @return Matches with the chosen plan and timing
+     */
+    public QueryResult execute(PrisonerQuery query) {
+        long startTime = System.nanoTime();
+        Plan plan = plan(query);
+        Collection<PrisonerModel> candidates = plan.fetch.get();
+
+        LinkedList<PrisonerModel> matches = new LinkedList<>();
+        for (PrisonerModel p : candidates) {
+            if (query.test(p)) {
+                matches.add(p);
+            }
+        }
+        long micros = (System.nanoTime() - startTime) / 1000;
+        QueryResult result = new QueryResult(matches, plan.description, candidates.size(), micros);
+        System.out.println("[Query] " + query + " → " + result);
+        return result;
+    }
+
+    /**
+     * Description of the plan that execute() would use, without running it
+     */
+    public String explain(PrisonerQuery query) {
+        Plan plan = plan(query);
+        return plan.description + " (estimated " + plan.estimate + " candidate(s))";
+    }
+
+    private Plan plan(PrisonerQuery query) {
+        if (query instanceof PrisonerQuery.Eq) {
+            return planEq((PrisonerQuery.Eq) query);
+        }
+        if (query instanceof PrisonerQuery.Between) {
+            return planBetween((PrisonerQuery.Between) query);
+        }
+        if (query instanceof PrisonerQuery.Contains) {
+            return planContains((PrisonerQuery.Contains) query);
+        }
+        if (query instanceof PrisonerQuery.And) {
+            return planAnd((PrisonerQuery.And) query);
+        }
+        if (query instanceof PrisonerQuery.Or) {
+            return planOr((PrisonerQuery.Or) query);
+        }
+        return scan();
+    }
+
+    private Plan planEq(PrisonerQuery.Eq eq) {
+        Object value = eq.value;
+        switch (eq.field) {
+            case PRISONER_ID:
+                if (value instanceof Integer) {
+                    PrisonerModel p = index.getById((Integer) value);
+                    return single("primary key lookup " + value, p);
+                }
+                break;
+            case NAME:
+                if (value instanceof String) {
+                    return single("name index lookup", index.getByName((String) value));
+                }
+                break;
+            case STATUS:
+                return bitmap(index.getStatusIndex(), value);
+            case CRIME_TYPE:
+                return bitmap(index.getCrimeTypeIndex(), value);
+            case PRISON_LOCATION:
+                return bitmap(index.getLocationIndex(), value);
+            case GENDER:
+                return bitmap(index.getGenderIndex(), value);
+            case ADMISSION_DATE:
+                return dateRange(index.getAdmissionDates(), value, value);
+            case RELEASE_DATE:
+                return dateRange(index.getReleaseDates(), value, value);
+            default:
+                break;
+        }
+        return scan();
+    }
+
+    private Plan planBetween(PrisonerQuery.Between between) {
+        switch (between.field) {
+            case PRISONER_ID: {
+                Object lower = between.from;
+                Object upper = between.to;
+                if ((lower == null || lower instanceof Integer) && (upper == null || upper instanceof Integer)) {
+                    int from = lower == null ? Integer.MIN_VALUE : (Integer) lower;
+                    int to = upper == null ? Integer.MAX_VALUE : (Integer) upper;
+                    SortedIdIndex ids = index.getSortedIds();
+                    return new Plan("sorted ID range " + between, ids.countRange(from, to), null,
+                                    () -> ids.range(from, to));
+                }
+                break;
+            }
+            case ADMISSION_DATE:
+                return dateRange(index.getAdmissionDates(), between.from, between.to);
+            case RELEASE_DATE:
+                return dateRange(index.getReleaseDates(), between.from, between.to);
+            default:
+                break;
+        }
+        return scan();
+    }
+
+    private Plan planContains(PrisonerQuery.Contains contains) {
+        boolean indexedField = contains.field == PrisonerField.NAME || contains.field == PrisonerField.CRIME_TYPE;
+        if (indexedField && TrigramIndex.canSearch(contains.text)) {
+            int[] ids = index.getTrigrams().candidates(contains.text);
+            return new Plan("trigram index '" + contains.text + "'", ids.length, null, () -> {
+                ArrayList<PrisonerModel> list = new ArrayList<>(ids.length);
+                for (int id : ids) {
+                    PrisonerModel p = index.getById(id);
+                    if (p != null) {
+                        list.add(p);
+                    }
+                }
+                return list;
+            });
+        }
+        return scan();
+    }
+
+    private Plan planAnd(PrisonerQuery.And and) {
+        // Combine every bitmap-answerable child into one intersection
+        RowBitmap bitmapRows = null;
+        StringBuilder bitmapDesc = new StringBuilder();
+        Plan best = null;
+        for (PrisonerQuery part : and.parts) {
+            Plan p = plan(part);
+            if (p.rows != null) {
+                bitmapRows = (bitmapRows == null) ? p.rows : bitmapRows.and(p.rows);
+                bitmapDesc.append(bitmapDesc.length() == 0 ? "" : " AND ").append(p.description);
+            } else if (!p.scan && (best == null || p.estimate < best.estimate)) {
+                best = p;
+            }
+        }
+        if (bitmapRows != null) {
+            Plan combined = fromRows(bitmapDesc.toString(), bitmapRows);
+            if (best == null || combined.estimate <= best.estimate) {
+                best = combined;
+            }
+        }
+        return best != null ? best : scan();
+    }
+
+    private Plan planOr(PrisonerQuery.Or or) {
+        ArrayList<Plan> plans = new ArrayList<>();
+        int estimate = 0;
+        StringBuilder desc = new StringBuilder("union of [");
+        for (PrisonerQuery part : or.parts) {
+            Plan p = plan(part);
+            if (p.scan) {
+                return scan(); // one side needs every record anyway
+            }
+            plans.add(p);
+            estimate += p.estimate;
+            desc.append(plans.size() > 1 ? "; " : "").append(p.description);
+        }
+        desc.append("]");
+        return new Plan(desc.toString(), estimate, null, () -> {
+            LinkedHashSet<PrisonerModel> union = new LinkedHashSet<>();
+            for (Plan p : plans) {
+                union.addAll(p.fetch.get());
+            }
+            return union;
+        });
+    }
+
+    // ===== Plan builders =====
+
+    private Plan scan() {
+        return new Plan(true, "full scan", index.size(), null,
+                        () -> index.getSortedIds().range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    private Plan single(String description, PrisonerModel p) {
+        Collection<PrisonerModel> result = p == null ? Collections.emptyList() : Collections.singletonList(p);
+        return new Plan(description, result.size(), null, () -> result);
+    }
+
+    private Plan bitmap(BitmapIndex field, Object value) {
+        if (!(value instanceof String)) {
+            return scan();
+        }
+        return fromRows(field.getFieldName() + " bitmap", field.rowsFor((String) value));
+    }
+
+    private Plan fromRows(String description, RowBitmap rows) {
+        return new Plan(description, rows.cardinality(), rows, () -> index.prisonersForRows(rows));
+    }
+
+    private Plan dateRange(DateIndex dates, Object from, Object to) {
+        if ((from != null && !(from instanceof LocalDate)) || (to != null && !(to instanceof LocalDate))) {
+            return scan();
+        }
+        LocalDate start = from == null ? LocalDate.MIN : (LocalDate) from;
+        LocalDate end = to == null ? LocalDate.MAX : (LocalDate) to;
+        return new Plan(dates.getFieldName() + " range index", dates.countBetween(start, end), null,
+                        () -> dates.between(start, end));
+    }
+
+    /**
+     * One access path: description, estimated candidate count, and how to fetch them
+     * rows is set when the candidates come from a bitmap (so AND can intersect them);
+     * scan is set when no index applies and every record is a candidate
+     */
+    private final class Plan {
+        final boolean scan;
+        final String description;
+        final int estimate;
+        final RowBitmap rows;
+        final Supplier<Collection<PrisonerModel>> fetch;
+
+        Plan(String description, int estimate, RowBitmap rows, Supplier<Collection<PrisonerModel>> fetch) {
+            this(false, description, estimate, rows, fetch);
+        }
+
+        Plan(boolean scan, String description, int estimate, RowBitmap rows,
+             Supplier<Collection<PrisonerModel>> fetch) {
+            this.scan = scan;
+            this.description = description;
+            this.estimate = estimate;
+            this.rows = rows;
+            this.fetch = fetch;
+        }
+    }
+}
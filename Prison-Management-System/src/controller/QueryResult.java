@@ -0,0 +1,53 @@
+package controller;
+
+import java.util.LinkedList;
+import model.PrisonerModel;
+
+/**
+ * QueryResult - Matches of a PrisonerQuery plus how they were found
+ * The plan text and timing let the admin see which index was used
+ *
+ * @author Anjal Bhattarai
+ */
+public class QueryResult {
+
+    private final LinkedList<PrisonerModel> prisoners;
+    private final String plan;
+    private final int candidatesChecked;
+    private final long elapsedMicros;
+
+    public QueryResult(LinkedList<PrisonerModel> prisoners, String plan, int candidatesChecked, long elapsedMicros) {
+        this.prisoners = prisoners;
+        this.plan = plan;
+        this.candidatesChecked = candidatesChecked;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public LinkedList<PrisonerModel> getPrisoners() {
+        return prisoners;
+    }
+
+    /**
+     * Human-readable description of the chosen access path
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    /**
+     * Number of records the predicate was evaluated on
+     */
+    public int getCandidatesChecked() {
+        return candidatesChecked;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    @Override
+    public String toString() {
+        return prisoners.size() + " match(es) | plan: " + plan + " | checked " + candidatesChecked +
+               " | " + elapsedMicros + "µs";
+    }
+}
@@ -0,0 +1,46 @@
+package controller;
+
+import java.util.List;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * RepositoryState - Everything a PrisonerRepository stores
+ * Handed to the controller on startup and to the repository for full saves
+ *
+ * @author Anjal Bhattarai
+ */
+public final class RepositoryState {
+
+    private final List<PrisonerModel> prisoners;      // active prisoners, in list order
+    private final List<PrisonerModel> trash;          // trash stack, bottom → top
+    private final List<VisitRequest> visitRequests;
+    private final int nextPrisonerId;
+
+    public RepositoryState(List<PrisonerModel> prisoners, List<PrisonerModel> trash,
+                           List<VisitRequest> visitRequests, int nextPrisonerId) {
+        this.prisoners = prisoners;
+        this.trash = trash;
+        this.visitRequests = visitRequests;
+        this.nextPrisonerId = nextPrisonerId;
+    }
+
+    public List<PrisonerModel> getPrisoners() {
+        return prisoners;
+    }
+
+    public List<PrisonerModel> getTrash() {
+        return trash;
+    }
+
+    public List<VisitRequest> getVisitRequests() {
+        return visitRequests;
+    }
+
+    /**
+     * First ID the allocator may hand out (IDs of purged prisoners are never reused)
+     */
+    public int getNextPrisonerId() {
+        return nextPrisonerId;
+    }
+}
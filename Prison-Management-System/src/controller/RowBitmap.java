@@ -0,0 +1,322 @@
+package controller;
+
+import java.util.Arrays;
+
+/**
+ * RowBitmap - Compressed set of row numbers (roaring-style bitmap)
+ *
+ * Rows are split by their high 16 bits into chunks of 65536. Each chunk uses
+ * whichever container is smaller for its contents:
+ *   - sparse chunk (up to 4096 rows): sorted char[] of the low 16 bits
+ *   - dense chunk (more than 4096 rows): long[1024] bitset
+ * A chunk converts between the two forms as it grows or shrinks
+ *
+ * and()/or() work chunk by chunk, so filters like "Active AND Fraud" are
+ * bitwise operations instead of scans over every prisoner
+ *
+ * @author Anjal Bhattarai
+ */
+public class RowBitmap {
+
+    private static final int ARRAY_MAX = 4096; // above this a bitset is smaller
+    private static final int BITSET_WORDS = 1024; // 65536 bits
+
+    // Chunks sorted by key (high 16 bits of the row number)
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int chunkCount = 0;
+
+    public void add(int row) {
+        char key = (char) (row >>> 16);
+        int pos = findChunk(key);
+        if (pos < 0) {
+            pos = -(pos + 1);
+            insertChunk(pos, key, new Container());
+        }
+        containers[pos].add((char) row);
+    }
+
+    public void remove(int row) {
+        int pos = findChunk((char) (row >>> 16));
+        if (pos < 0) {
+            return;
+        }
+        Container c = containers[pos];
+        c.remove((char) row);
+        if (c.cardinality == 0) {
+            removeChunk(pos);
+        }
+    }
+
+    public boolean contains(int row) {
+        int pos = findChunk((char) (row >>> 16));
+        return pos >= 0 && containers[pos].contains((char) row);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Intersection (AND) - returns a new bitmap, operands unchanged
+     */
+    public RowBitmap and(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality > 0) {
+                    result.insertChunk(result.chunkCount, keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Union (OR) - returns a new bitmap, operands unchanged
+     */
+    public RowBitmap or(RowBitmap other) {
+        RowBitmap result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j >= other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.insertChunk(result.chunkCount, keys[i], containers[i].copy());
+                i++;
+            } else if (i >= chunkCount || keys[i] > other.keys[j]) {
+                result.insertChunk(result.chunkCount, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insertChunk(result.chunkCount, keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All row numbers in ascending order
+     */
+    public int[] toArray() {
+        int[] rows = new int[cardinality()];
+        int n = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            n = containers[i].copyTo(rows, n, keys[i] << 16);
+        }
+        return rows;
+    }
+
+    public RowBitmap copy() {
+        RowBitmap result = new RowBitmap();
+        for (int i = 0; i < chunkCount; i++) {
+            result.insertChunk(i, keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    private int findChunk(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int pos, char key, Container c) {
+        if (chunkCount == keys.length) {
+            int newCapacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, chunkCount - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, chunkCount - pos);
+        keys[pos] = key;
+        containers[pos] = c;
+        chunkCount++;
+    }
+
+    private void removeChunk(int pos) {
+        System.arraycopy(keys, pos + 1, keys, pos, chunkCount - pos - 1);
+        System.arraycopy(containers, pos + 1, containers, pos, chunkCount - pos - 1);
+        chunkCount--;
+        containers[chunkCount] = null;
+    }
+
+    /**
+     * One 65536-row chunk: sorted char array while sparse, long bitset once dense
+     * Exactly one of values / words is non-null
+     */
+    private static final class Container {
+        private char[] values = new char[4];
+        private long[] words = null;
+        private int cardinality = 0;
+
+        boolean contains(char low) {
+            if (words != null) {
+                return (words[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        void add(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) == 0) {
+                    words[low >>> 6] |= bit;
+                    cardinality++;
+                }
+                return;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBitset();
+                add(low);
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = low;
+            cardinality++;
+        }
+
+        void remove(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) != 0) {
+                    words[low >>> 6] &= ~bit;
+                    cardinality--;
+                    if (cardinality <= ARRAY_MAX) {
+                        toArrayForm();
+                    }
+                }
+                return;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) {
+                System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+                cardinality--;
+            }
+        }
+
+        Container and(Container other) {
+            if (words != null && other.words != null) {
+                Container c = new Container();
+                c.words = new long[BITSET_WORDS];
+                c.values = null;
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    c.words[w] = words[w] & other.words[w];
+                    c.cardinality += Long.bitCount(c.words[w]);
+                }
+                if (c.cardinality <= ARRAY_MAX) {
+                    c.toArrayForm();
+                }
+                return c;
+            }
+            // At least one side is sparse: probe the sparse side's values
+            Container sparse = (words == null) ? this : other;
+            Container probe = (sparse == this) ? other : this;
+            Container c = new Container();
+            c.values = new char[Math.max(4, sparse.cardinality)];
+            for (int k = 0; k < sparse.cardinality; k++) {
+                char v = sparse.values[k];
+                if (probe.contains(v)) {
+                    c.values[c.cardinality++] = v;
+                }
+            }
+            return c;
+        }
+
+        Container or(Container other) {
+            Container c = copy();
+            if (other.words != null && c.words == null) {
+                c.toBitset();
+            }
+            if (c.words != null) {
+                if (other.words != null) {
+                    c.cardinality = 0;
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        c.words[w] |= other.words[w];
+                        c.cardinality += Long.bitCount(c.words[w]);
+                    }
+                } else {
+                    for (int k = 0; k < other.cardinality; k++) {
+                        c.add(other.values[k]);
+                    }
+                }
+                return c;
+            }
+            for (int k = 0; k < other.cardinality; k++) {
+                c.add(other.values[k]);
+            }
+            return c;
+        }
+
+        int copyTo(int[] out, int n, int base) {
+            if (words != null) {
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        out[n++] = base | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int k = 0; k < cardinality; k++) {
+                    out[n++] = base | values[k];
+                }
+            }
+            return n;
+        }
+
+        Container copy() {
+            Container c = new Container();
+            c.cardinality = cardinality;
+            c.values = (values == null) ? null : Arrays.copyOf(values, values.length);
+            c.words = (words == null) ? null : Arrays.copyOf(words, BITSET_WORDS);
+            return c;
+        }
+
+        private void toBitset() {
+            words = new long[BITSET_WORDS];
+            for (int k = 0; k < cardinality; k++) {
+                char v = values[k];
+                words[v >>> 6] |= 1L << v;
+            }
+            values = null;
+        }
+
+        private void toArrayForm() {
+            char[] sparse = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    sparse[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            values = sparse;
+            words = null;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package controller;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import model.CategoryDictionary;
 import model.PrisonerModel;
 
 /**
@@ -13,29 +19,26 @@ public class SearchOperation {
     
     /**
      * Binary Search for Prisoner by ID
-     * Requires: Data sorted by ID (ascending order)
+     * Runs on the maintained SortedIdIndex - no sort needed before searching
      * Time Complexity: O(log n)
-     * @param prisonDetails - LinkedList of all prisoners
+     * @param sortedIds - Prisoner IDs kept in ascending order
      * @param targetId - The prisoner ID to search for
      * @return PrisonerModel if found, null otherwise
      */
-    public static PrisonerModel binarySearchById(LinkedList<PrisonerModel> prisonDetails, int targetId) {
-        // Convert LinkedList to array for index-based access
-        PrisonerModel[] prisoners = prisonDetails.toArray(new PrisonerModel[0]);
-        
+    public static PrisonerModel binarySearchById(SortedIdIndex sortedIds, int targetId) {
         int left = 0;
-        int right = prisoners.length - 1;
+        int right = sortedIds.size() - 1;
         int comparisons = 0;
         
         System.out.println("\n=== Binary Search ===");
         System.out.println("Searching for Prisoner ID: " + targetId);
-        System.out.println("Total records to search: " + prisoners.length);
+        System.out.println("Total records to search: " + sortedIds.size());
         System.out.println("\nStep-by-step execution:");
         
         while (left <= right) {
             comparisons++;
             int mid = left + (right - left) / 2;
-            int midId = prisoners[mid].getPrisonerId();
+            int midId = sortedIds.idAt(mid);
             
             System.out.println("  Step " + comparisons + ": Checking range [" + left + "-" + right + "] → Middle index: " + mid + " (ID: " + midId + ")");
             
@@ -43,7 +46,7 @@ public class SearchOperation {
                 System.out.println("     ✓ Match found! Target ID " + targetId + " = Current ID " + midId);
                 System.out.println("\n✓ Search complete in " + comparisons + " step(s).");
                 System.out.println("  Binary search divides search space in half each time: O(log n) complexity\n");
-                return prisoners[mid];
+                return sortedIds.prisonerAt(mid);
             }
             
             if (midId < targetId) {
@@ -59,15 +62,29 @@ public class SearchOperation {
         return null;
     }
     
+    /**
+     * ID range search on the maintained SortedIdIndex
+     * Time Complexity: O(log n + k) for k results
+     * @param sortedIds - Prisoner IDs kept in ascending order
+     * @param fromId - Lowest ID to include
+     * @param toId - Highest ID to include
+     * @return LinkedList of prisoners in ascending ID order
+     */
+    public static LinkedList<PrisonerModel> rangeSearchById(SortedIdIndex sortedIds, int fromId, int toId) {
+        LinkedList<PrisonerModel> results = sortedIds.range(fromId, toId);
+        System.out.println("[Search] ID range " + fromId + "-" + toId + ": " + results.size() + " match(es)");
+        return results;
+    }
+    
     /**
      * Linear Search for Prisoner by Name or Crime Type
      * Works on unsorted data, supports partial matches
      * Time Complexity: O(n)
-     * @param prisonDetails - LinkedList of all prisoners
+     * @param prisonDetails - List of all prisoners (read-only snapshot)
      * @param searchTerm - The term to search for (case-insensitive, partial match)
      * @return LinkedList of matching prisoners
      */
-    public static LinkedList<PrisonerModel> linearSearchByNameOrCrime(LinkedList<PrisonerModel> prisonDetails, String searchTerm) {
+    public static LinkedList<PrisonerModel> linearSearchByNameOrCrime(List<PrisonerModel> prisonDetails, String searchTerm) {
         LinkedList<PrisonerModel> results = new LinkedList<>();
         String term = searchTerm.trim().toLowerCase();
         int comparisons = 0;
@@ -77,11 +94,15 @@ public class SearchOperation {
         System.out.println("Total records: " + prisonDetails.size());
         System.out.println("\nStep-by-step execution (showing first 5 checks):");
         
+        // Crime types are dictionary codes: test each distinct value once, then compare codes
+        boolean[] crimeMatches = CategoryDictionary.CRIME_TYPE.codesContaining(term);
+        
         // Sequential search through entire list
         for (PrisonerModel prisoner : prisonDetails) {
             comparisons++;
             boolean nameMatch = prisoner.getName().toLowerCase().contains(term);
-            boolean crimeMatch = prisoner.getCrimeType().toLowerCase().contains(term);
+            int crimeCode = prisoner.getCrimeTypeCode();
+            boolean crimeMatch = crimeCode >= 0 && crimeCode < crimeMatches.length && crimeMatches[crimeCode];
             
             // Show first 5 checks to demonstrate linear scanning
             if (comparisons <= 5) {
@@ -102,15 +123,189 @@ public class SearchOperation {
         return results;
     }
     
+    /**
+     * Indexed Search for Prisoner by Name or Crime Type
+     * Intersects the trigram posting lists of the term, then verifies only those candidates
+     * Time Complexity: roughly O(k) for k candidates instead of O(n)
+     * @param index - Lookup index over prisonDetails
+     * @param searchTerm - The term to search for (case-insensitive, partial match, 3+ characters)
+     * @return LinkedList of matching prisoners in ascending ID order
+     */
+    public static LinkedList<PrisonerModel> indexedSearchByNameOrCrime(PrisonerIndex index, String searchTerm) {
+        long startTime = System.nanoTime();
+        LinkedList<PrisonerModel> results = index.getTrigrams().search(index, searchTerm);
+        long micros = (System.nanoTime() - startTime) / 1000;
+        
+        System.out.println("\n=== Trigram Index Search ===");
+        System.out.println("Searching for: \"" + searchTerm + "\"");
+        System.out.println("✓ Found " + results.size() + " match(es) in " + micros + "µs without scanning all " +
+                           index.size() + " records\n");
+        return results;
+    }
+    
+    /**
+     * Fuzzy Search for Prisoner by Name
+     * Looks up each word of the term in the BK-tree of name words, so misspelled
+     * transliterations ("Shresta", "Bahdur") still find the prisoner
+     * Time Complexity: visits only the tree branches within maxDistance, not every record
+     * @param index - Lookup index over prisonDetails
+     * @param searchTerm - One or more name words (every word must match)
+     * @param maxDistance - Largest edit distance accepted per word
+     * @return LinkedList of matching prisoners, closest match first
+     */
+    public static LinkedList<PrisonerModel> fuzzySearchByName(PrisonerIndex index, String searchTerm, int maxDistance) {
+        long startTime = System.nanoTime();
+        LinkedList<PrisonerModel> results = index.getNameTokens().searchNames(index, searchTerm, maxDistance);
+        long micros = (System.nanoTime() - startTime) / 1000;
+        
+        System.out.println("\n=== BK-Tree Fuzzy Search ===");
+        System.out.println("Searching for: \"" + searchTerm + "\" (max " + maxDistance + " edit(s) per word)");
+        System.out.println("✓ Found " + results.size() + " match(es) in " + micros + "µs\n");
+        return results;
+    }
+    
+    /**
+     * Phonetic Search for Prisoner by Name ("sounds like")
+     * Every word of the term is reduced to its phonetic key and looked up in a HashMap
+     * Time Complexity: O(words + k) - one hash probe per word, no scan
+     * @param index - Lookup index over prisonDetails
+     * @param searchTerm - Name as heard or spelled at the desk
+     * @return LinkedList of matching prisoners in ascending ID order
+     */
+    public static LinkedList<PrisonerModel> phoneticSearchByName(PrisonerIndex index, String searchTerm) {
+        LinkedList<PrisonerModel> results = new LinkedList<>();
+        for (int id : index.getNameSounds().lookup(searchTerm)) {
+            PrisonerModel p = index.getById(id);
+            if (p != null) {
+                results.add(p);
+            }
+        }
+        System.out.println("[Search] Sounds like \"" + searchTerm + "\" " + 
+                           Arrays.toString(PhoneticIndex.keysOf(searchTerm)) + ": " + results.size() + " match(es)");
+        return results;
+    }
+    
+    /**
+     * Edit distance allowed for a search word: 1 for short words, 2 from 6 letters up
+     */
+    public static int defaultFuzzyDistance(String searchTerm) {
+        int longest = 0;
+        for (String token : BkTree.tokensOf(searchTerm)) {
+            longest = Math.max(longest, token.length());
+        }
+        return longest >= 6 ? 2 : 1;
+    }
+    
+    /**
+     * Multi-criteria filter on status, location, crime type and gender
+     * Each given criterion selects a bitmap; the bitmaps are ANDed together
+     * Time Complexity: proportional to bitmap sizes, no scan of prisonDetails
+     * @param index - Lookup index over prisonDetails
+     * @param status - Required status, or null/"All" for any
+     * @param prisonLocation - Required location, or null/"All" for any
+     * @param crimeType - Required crime type, or null/"All" for any
+     * @param gender - Required gender, or null/"All" for any
+     * @return LinkedList of prisoners matching every given criterion
+     */
+    public static LinkedList<PrisonerModel> filterPrisoners(PrisonerIndex index, String status,
+                                                            String prisonLocation, String crimeType, String gender) {
+        RowBitmap rows = null;
+        rows = andCriterion(rows, index.getStatusIndex(), status);
+        rows = andCriterion(rows, index.getLocationIndex(), prisonLocation);
+        rows = andCriterion(rows, index.getCrimeTypeIndex(), crimeType);
+        rows = andCriterion(rows, index.getGenderIndex(), gender);
+        
+        if (rows == null) {
+            // No criteria given - every prisoner matches
+            return index.getSortedIds().range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        LinkedList<PrisonerModel> results = index.prisonersForRows(rows);
+        System.out.println("[Filter] " + results.size() + " prisoner(s) matched via bitmap index");
+        return results;
+    }
+    
+    // AND one field's bitmap into the running result; null/"All" means no constraint
+    private static RowBitmap andCriterion(RowBitmap rows, BitmapIndex field, String value) {
+        if (value == null || value.isEmpty() || "All".equals(value)) {
+            return rows;
+        }
+        RowBitmap selected = field.rowsFor(value);
+        return rows == null ? selected : rows.and(selected);
+    }
+    
+    /**
+     * Prisoners due for release between two dates (inclusive), earliest first
+     * Time Complexity: O(log n + k) via the release-date index
+     * @param index - Lookup index over prisonDetails
+     * @param from - First release date to include
+     * @param to - Last release date to include
+     * @return LinkedList of prisoners in release-date order
+     */
+    public static LinkedList<PrisonerModel> searchByReleaseDate(PrisonerIndex index, LocalDate from, LocalDate to) {
+        LinkedList<PrisonerModel> results = index.getReleaseDates().between(from, to);
+        System.out.println("[Search] Releases " + from + " to " + to + ": " + results.size() + " prisoner(s)");
+        return results;
+    }
+    
+    /**
+     * Prisoners admitted between two dates (inclusive), optionally at one location
+     * Time Complexity: O(log n + k) via the admission-date index; the location
+     * filter is an int compare of dictionary codes on the k results
+     * @param index - Lookup index over prisonDetails
+     * @param from - First admission date to include
+     * @param to - Last admission date to include
+     * @param prisonLocation - Required location, or null/"All" for any
+     * @return LinkedList of prisoners in admission-date order
+     */
+    public static LinkedList<PrisonerModel> searchByAdmissionDate(PrisonerIndex index, LocalDate from, LocalDate to,
+                                                                  String prisonLocation) {
+        LinkedList<PrisonerModel> inRange = index.getAdmissionDates().between(from, to);
+        if (prisonLocation == null || prisonLocation.isEmpty() || "All".equals(prisonLocation)) {
+            System.out.println("[Search] Admissions " + from + " to " + to + ": " + inRange.size() + " prisoner(s)");
+            return inRange;
+        }
+        
+        int locationCode = CategoryDictionary.PRISON_LOCATION.codeOf(prisonLocation);
+        LinkedList<PrisonerModel> results = new LinkedList<>();
+        if (locationCode != CategoryDictionary.NO_CODE) {
+            for (PrisonerModel p : inRange) {
+                if (p.getPrisonLocationCode() == locationCode) {
+                    results.add(p);
+                }
+            }
+        }
+        System.out.println("[Search] Admissions " + from + " to " + to + " at " + prisonLocation + ": " +
+                           results.size() + " prisoner(s)");
+        return results;
+    }
+    
+    /**
+     * Monthly intake report: number of admissions per calendar month
+     * Each month is one range count on the admission-date index
+     * @param index - Lookup index over prisonDetails
+     * @param fromMonth - First month of the report
+     * @param toMonth - Last month of the report
+     * @return Map month → admissions, in month order (months with 0 included)
+     */
+    public static LinkedHashMap<YearMonth, Integer> monthlyIntake(PrisonerIndex index, YearMonth fromMonth, YearMonth toMonth) {
+        LinkedHashMap<YearMonth, Integer> report = new LinkedHashMap<>();
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            report.put(month, index.getAdmissionDates().countBetween(month.atDay(1), month.atEndOfMonth()));
+        }
+        return report;
+    }
+    
     /**
      * Main search method - routes to appropriate search algorithm
      * Handles all search logic, validation, and user feedback
-     * @param prisonDetails - LinkedList of all prisoners
+     * @param prisonDetails - List of all prisoners (read-only snapshot)
+     * @param index - Lookup index over prisonDetails
      * @param searchType - Type from ComboBox ("Name/Crime [Linear Search]" or "ID [ Binary Search ]")
      * @param searchTerm - The search query
      * @return LinkedList of matching prisoners
      */
-    public static LinkedList<PrisonerModel> searchPrisoners(LinkedList<PrisonerModel> prisonDetails, 
+    public static LinkedList<PrisonerModel> searchPrisoners(List<PrisonerModel> prisonDetails, 
+                                                            PrisonerIndex index,
                                                             String searchType, String searchTerm) {
         LinkedList<PrisonerModel> results = new LinkedList<>();
         
@@ -125,12 +320,8 @@ public class SearchOperation {
                 // Binary Search for ID
                 int searchId = Integer.parseInt(searchTerm.trim());
                 
-                // Binary search REQUIRES sorted data - sort by ID first
-                System.out.println("[Search] Sorting data by ID before binary search...");
-                LinkedList<PrisonerModel> sortedData = SortOperation.sortPrisoners(
-                    prisonDetails, "Prisoner ID", true);
-                
-                PrisonerModel found = binarySearchById(sortedData, searchId);
+                // Binary search REQUIRES sorted data - the index keeps IDs sorted
+                PrisonerModel found = binarySearchById(index.getSortedIds(), searchId);
                 if (found != null) {
                     results.add(found);
                     System.out.println("[Search] Found prisoner with ID: " + searchId);
@@ -139,8 +330,17 @@ public class SearchOperation {
                 }
                 
             } else if (searchType.contains("Linear Search")) {
-                // Linear Search for Name/Crime
-                results = linearSearchByNameOrCrime(prisonDetails, searchTerm);
+                // Name/Crime: trigram index when the term is long enough, linear scan otherwise
+                if (TrigramIndex.canSearch(searchTerm)) {
+                    results = indexedSearchByNameOrCrime(index, searchTerm);
+                } else {
+                    results = linearSearchByNameOrCrime(prisonDetails, searchTerm);
+                }
+                
+                // Nothing contains the term - try close spellings of the name
+                if (results.isEmpty() && TrigramIndex.canSearch(searchTerm)) {
+                    results = fuzzySearchByName(index, searchTerm, defaultFuzzyDistance(searchTerm));
+                }
                 
                 if (results.isEmpty()) {
                     System.out.println("[Search] No prisoners found matching: \"" + searchTerm + "\"");
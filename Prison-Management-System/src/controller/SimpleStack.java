@@ -43,6 +43,10 @@ public class SimpleStack {
         return top == -1;
     }
 
+    public boolean isFull() {
+        return top == MAX_SIZE - 1;
+    }
+
     public int size() {
         return top + 1;
     }
@@ -0,0 +1,189 @@
+package controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * SnapshotStore - Full binary checkpoint of the prison state
+ *
+ * A checkpoint holds every prisoner, the trash stack (bottom → top), every visit
+ * request and the next prisoner ID, stamped with a generation number. After a
+ * checkpoint the WriteAheadLog restarts empty with the same generation, so
+ * startup = load snapshot + replay only the changes made since, and restart
+ * time no longer grows with the whole admission history
+ *
+ * Crash safety: the image is written to a temp file, fsynced, then atomically
+ * renamed over the old one. A log whose generation is older than the snapshot
+ * (crash between rename and log reset) is already contained in it and is skipped
+ *
+ * File: magic "PSN1", version, ModelCodec schema, generation, next prisoner ID,
+ * three counted sections of records (one ModelCodec stream, so each crime type
+ * or jail name is spelled out once), CRC32 of everything before it
+ *
+ * @author Anjal Bhattarai
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x50534E31;    // "PSN1"
+    private static final int VERSION = 2;
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final Path path;
+
+    /**
+     * A checkpoint read back: its generation and the stored state
+     */
+    public static final class Image {
+        private final long generation;
+        private final RepositoryState state;
+
+        Image(long generation, RepositoryState state) {
+            this.generation = generation;
+            this.state = state;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public RepositoryState getState() {
+            return state;
+        }
+    }
+
+    public SnapshotStore(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Write a checkpoint, replacing the previous one atomically
+     */
+    public void write(long generation, RepositoryState state) throws IOException {
+        List<PrisonerModel> prisoners = state.getPrisoners();
+        List<PrisonerModel> trash = state.getTrash();
+        List<VisitRequest> visitRequests = state.getVisitRequests();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        ModelCodec codec = ModelCodec.newStream();
+        ModelCodec.Writer out = new ModelCodec.Writer(FLUSH_BYTES + 4096);
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ModelCodec.SCHEMA_VERSION);
+            out.writeVarLong(generation);
+            out.writeVarInt(state.getNextPrisonerId());
+
+            out.writeVarInt(prisoners.size());
+            for (PrisonerModel p : prisoners) {
+                codec.writePrisoner(out, p);
+                flushIfFull(out, crc, file);
+            }
+            out.writeVarInt(trash.size());
+            for (PrisonerModel p : trash) {
+                codec.writePrisoner(out, p);
+            }
+            out.writeVarInt(visitRequests.size());
+            for (VisitRequest request : visitRequests) {
+                codec.writeVisit(out, request);
+                flushIfFull(out, crc, file);
+            }
+            flush(out, crc, file);
+            out.writeInt((int) crc.getValue());
+            out.writeTo(file);
+        }
+
+        // Data on disk before the rename makes it visible
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("[SNAPSHOT] Wrote generation " + generation + ": " + prisoners.size() + " prisoner(s), " +
+                           trash.size() + " in trash, " + visitRequests.size() + " visit request(s), " +
+                           Files.size(path) / 1024 + " KiB");
+    }
+
+    /**
+     * Read the checkpoint back
+     * @throws IOException If the file is missing, truncated or fails its checksum
+     */
+    public Image read() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length < 16) {
+            throw new IOException("Snapshot truncated: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ModelCodec.Reader trailer = new ModelCodec.Reader(bytes, bytes.length - 4, 4);
+        if (trailer.readInt() != (int) crc.getValue()) {
+            throw new IOException("Snapshot checksum mismatch: " + path);
+        }
+
+        ModelCodec.Reader in = new ModelCodec.Reader(bytes, 0, bytes.length - 4);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a prison snapshot: " + path);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + path);
+        }
+        int schema = in.readInt();
+        if (schema != ModelCodec.SCHEMA_VERSION) {
+            throw new IOException("Unsupported record schema " + schema + " in " + path);
+        }
+        long generation = in.readVarLong();
+        int nextPrisonerId = in.readVarInt();
+
+        ModelCodec codec = ModelCodec.newStream();
+        int prisonerCount = in.readVarInt();
+        List<PrisonerModel> prisoners = new ArrayList<>(prisonerCount);
+        for (int i = 0; i < prisonerCount; i++) {
+            prisoners.add(codec.readPrisoner(in));
+        }
+        int trashCount = in.readVarInt();
+        List<PrisonerModel> trash = new ArrayList<>(trashCount);
+        for (int i = 0; i < trashCount; i++) {
+            trash.add(codec.readPrisoner(in));
+        }
+        int visitCount = in.readVarInt();
+        List<VisitRequest> visitRequests = new ArrayList<>(visitCount);
+        for (int i = 0; i < visitCount; i++) {
+            visitRequests.add(codec.readVisit(in));
+        }
+        return new Image(generation, new RepositoryState(prisoners, trash, visitRequests, nextPrisonerId));
+    }
+
+    private static void flushIfFull(ModelCodec.Writer out, CRC32 crc, OutputStream file) throws IOException {
+        if (out.size() >= FLUSH_BYTES) {
+            flush(out, crc, file);
+        }
+    }
+
+    private static void flush(ModelCodec.Writer out, CRC32 crc, OutputStream file) throws IOException {
+        out.updateChecksum(crc);
+        out.writeTo(file);
+        out.reset();
+    }
+}
@@ -5,7 +5,9 @@
 package controller;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import javax.swing.JOptionPane;
 import model.PrisonerModel;
 
@@ -49,12 +51,35 @@ public class SortOperation {
             case "Sentence Duration":
                 c = Integer.compare(a.getSentenceDuration(), b.getSentenceDuration());
                 break;
+            // Dictionary-encoded fields: equal codes mean equal values, so only
+            // different values need a string comparison
+            case "Gender":
+                c = compareCategory(a.getGenderCode(), b.getGenderCode(), a.getGender(), b.getGender());
+                break;
+            case "Status":
+                c = compareCategory(a.getStatusCode(), b.getStatusCode(), a.getStatus(), b.getStatus());
+                break;
+            case "Crime Type":
+                c = compareCategory(a.getCrimeTypeCode(), b.getCrimeTypeCode(), a.getCrimeType(), b.getCrimeType());
+                break;
+            case "Location":
+                c = compareCategory(a.getPrisonLocationCode(), b.getPrisonLocationCode(),
+                                    a.getPrisonLocation(), b.getPrisonLocation());
+                break;
             default:
                 c = Integer.compare(a.getPrisonerId(), b.getPrisonerId());
         }
         return ascending ? c : -c;
     }
 
+    /** Compare two dictionary-encoded values: int compare first, strings only when codes differ */
+    private static int compareCategory(int codeA, int codeB, String a, String b) {
+        if (codeA == codeB) return 0;
+        if (a == null) return 1; // nulls last in ascending
+        if (b == null) return -1;
+        return a.compareToIgnoreCase(b);
+    }
+
     /** Selection Sort (simple, O(n^2)) */
     private static void selectionSort(LinkedList<PrisonerModel> list, String sortBy, boolean ascending) {
         int n = list.size();
@@ -122,16 +147,59 @@ public class SortOperation {
     
     // (Legacy verbose insertion sort removed to simplify coursework scope)
     
+    /**
+     * Columnar Sort (O(n log n)) - sorts primitive keys instead of PrisonerModel objects
+     * Each live row becomes one long: (sort key << 32) | row, so a primitive
+     * Arrays.sort orders by key and keeps ties in row order
+     * 
+     * @param columns Column store of the prisoners to sort
+     * @param sortBy A numeric field (Prisoner ID, Age, Sentence Duration, Admission Date, Release Date)
+     * @param ascending True for ascending order, false for descending
+     * @return A new sorted LinkedList, or null if sortBy has no numeric column
+     */
+    public static LinkedList<PrisonerModel> columnarSort(PrisonerColumnStore columns, String sortBy, boolean ascending) {
+        int[] keys = columns.numericColumn(sortBy);
+        if (keys == null) {
+            return null;
+        }
+        long startTime = System.nanoTime();
+        
+        int rowLimit = columns.getRowLimit();
+        long[] packed = new long[columns.size()];
+        int n = 0;
+        for (int row = 0; row < rowLimit; row++) {
+            if (columns.isLive(row)) {
+                int key = keys[row];
+                if (key == PrisonerColumnStore.NO_DATE) {
+                    key = Integer.MAX_VALUE; // nulls last in ascending
+                }
+                long signedKey = ascending ? key : -(long) key;
+                packed[n++] = (signedKey << 32) | row;
+            }
+        }
+        Arrays.sort(packed, 0, n);
+        
+        LinkedList<PrisonerModel> sorted = new LinkedList<>();
+        for (int i = 0; i < n; i++) {
+            sorted.add(columns.prisonerAt((int) packed[i]));
+        }
+        
+        System.out.println("\n✓ Columnar sort of " + n + " records by " + sortBy + " in " +
+                           (System.nanoTime() - startTime) / 1000 + "µs");
+        return sorted;
+    }
+    
     /**
      * Main sorting method - Entry point for all sorting operations
      * Delegates to appropriate sorting algorithm based on list size and configuration
      * 
      * @param prisonDetails The list of prisoners to sort
-     * @param sortBy The field to sort by (Name, Prisoner ID, Admission Date, Sentence Duration)
+     * @param sortBy The field to sort by (Name, Prisoner ID, Admission Date, Sentence Duration,
+     *               Gender, Status, Crime Type, Location)
      * @param ascending True for ascending order, false for descending
      * @return A new sorted LinkedList
      */
-    public static LinkedList<PrisonerModel> sortPrisoners(LinkedList<PrisonerModel> prisonDetails, 
+    public static LinkedList<PrisonerModel> sortPrisoners(List<PrisonerModel> prisonDetails, 
             String sortBy, boolean ascending) {
         return sortInternal(prisonDetails, sortBy, ascending, null);
     }
@@ -140,13 +208,13 @@ public class SortOperation {
      * Overload: Sort with explicit algorithm selection from UI.
      * algorithm: "InsertionSort", "SelectionSort", "MergeSort"
      */
-    public static LinkedList<PrisonerModel> sortPrisoners(LinkedList<PrisonerModel> prisonDetails,
+    public static LinkedList<PrisonerModel> sortPrisoners(List<PrisonerModel> prisonDetails,
             String sortBy, boolean ascending, String algorithm) {
         return sortInternal(prisonDetails, sortBy, ascending, algorithm);
     }
 
     /** Internal: single implementation for sorting with optional explicit algorithm. */
-    private static LinkedList<PrisonerModel> sortInternal(LinkedList<PrisonerModel> prisonDetails,
+    private static LinkedList<PrisonerModel> sortInternal(List<PrisonerModel> prisonDetails,
             String sortBy, boolean ascending, String algorithm) {
         if (prisonDetails == null || prisonDetails.isEmpty()) {
             JOptionPane.showMessageDialog(null,
@@ -0,0 +1,142 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import model.PrisonerModel;
+
+/**
+ * SortedIdIndex - Prisoner IDs kept permanently in ascending order
+ * Parallel arrays: ids[] (primitive int keys) and prisoners[] (records)
+ *
+ * Binary search runs directly on ids[], so searching never has to sort the
+ * whole dataset first. New IDs come from the allocator in increasing order,
+ * so the common insert is an O(1) append; restores from trash shift the tail
+ * with System.arraycopy (O(n) worst case, no sorting)
+ *
+ * @author Anjal Bhattarai
+ */
+public class SortedIdIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private PrisonerModel[] prisoners = new PrisonerModel[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Insert a prisoner at its sorted position (replaces an existing entry with the same ID)
+     */
+    public void insert(PrisonerModel prisoner) {
+        int id = prisoner.getPrisonerId();
+
+        // Fast path: IDs normally arrive in increasing order
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            prisoners[size] = prisoner;
+            size++;
+            return;
+        }
+
+        int pos = indexOf(id);
+        if (pos >= 0) {
+            prisoners[pos] = prisoner;
+            return;
+        }
+
+        int insertAt = -(pos + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(prisoners, insertAt, prisoners, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        prisoners[insertAt] = prisoner;
+        size++;
+    }
+
+    /**
+     * Remove the entry for this prisoner ID
+     * @return true if an entry was removed
+     */
+    public boolean remove(int prisonerId) {
+        int pos = indexOf(prisonerId);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(prisoners, pos + 1, prisoners, pos, size - pos - 1);
+        size--;
+        prisoners[size] = null;
+        return true;
+    }
+
+    /**
+     * Binary search for an ID - O(log n)
+     * @return Position of the ID, or -(insertion point) - 1 if absent (Arrays.binarySearch contract)
+     */
+    public int indexOf(int prisonerId) {
+        return Arrays.binarySearch(ids, 0, size, prisonerId);
+    }
+
+    /**
+     * ID stored at a position (0 = smallest ID)
+     */
+    public int idAt(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Prisoner stored at a position (0 = smallest ID)
+     */
+    public PrisonerModel prisonerAt(int position) {
+        return prisoners[position];
+    }
+
+    /**
+     * All prisoners with fromId <= ID <= toId, in ascending ID order - O(log n + k)
+     */
+    public LinkedList<PrisonerModel> range(int fromId, int toId) {
+        LinkedList<PrisonerModel> result = new LinkedList<>();
+        if (fromId > toId) {
+            return result;
+        }
+        int start = indexOf(fromId);
+        if (start < 0) {
+            start = -(start + 1);
+        }
+        for (int i = start; i < size && ids[i] <= toId; i++) {
+            result.add(prisoners[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Number of IDs with fromId <= ID <= toId - O(log n)
+     */
+    public int countRange(int fromId, int toId) {
+        if (fromId > toId) {
+            return 0;
+        }
+        int start = indexOf(fromId);
+        start = start < 0 ? -(start + 1) : start;
+        int end = indexOf(toId);
+        end = end < 0 ? -(end + 1) : end + 1;
+        return Math.max(0, end - start);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(prisoners, 0, size, null);
+        size = 0;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > ids.length) {
+            int newCapacity = Math.max(needed, ids.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            prisoners = Arrays.copyOf(prisoners, newCapacity);
+        }
+    }
+}
@@ -4,7 +4,7 @@
  */
 package controller;
 
-import java.util.LinkedList;
+import java.io.IOException;
 import javax.swing.JOptionPane;
 import model.PrisonerModel;
 
@@ -35,10 +35,13 @@ public class TrashBinOperation {
      * Demonstrates Stack.pop() operation
      * 
      * @param trashBin Stack containing deleted prisoners
-     * @param prisonDetails Main list to restore prisoner to
+     * @param index Lookup index the prisoner is restored to
+     * @param idAllocator Allocator that must never reissue the restored ID
+     * @param repository Store the restore is written to first
      * @return The restored prisoner, or null if trash is empty
      */
-    public static PrisonerModel popFromTrash(SimpleStack trashBin, LinkedList<PrisonerModel> prisonDetails) {
+    public static PrisonerModel popFromTrash(SimpleStack trashBin, PrisonerIndex index, PrisonerIdAllocator idAllocator,
+                                             PrisonerRepository repository) {
         // Check if trash is empty
         if (trashBin.isEmpty()) {
             JOptionPane.showMessageDialog(null,
@@ -66,13 +69,32 @@ public class TrashBinOperation {
             return null;
         }
         
+        // A prisoner admitted after the deletion may now own this name
+        if (index.isNameTaken(topPrisoner.getName(), topPrisoner.getPrisonerId())) {
+            JOptionPane.showMessageDialog(null,
+                "Cannot restore " + topPrisoner.getName() + " (ID: " + topPrisoner.getPrisonerId() + ").\n" +
+                "Another active prisoner already uses this name.",
+                "Restore Failed",
+                JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+        
+        // Record the restore before applying it
+        try {
+            repository.trashRestored(topPrisoner.getPrisonerId());
+        } catch (IOException e) {
+            showSaveFailure(e, "Restore Failed");
+            return null;
+        }
+        
         // Pop from stack
         PrisonerModel restoredPrisoner = (PrisonerModel) trashBin.pop();
         System.out.println("\n[STACK] POP: " + restoredPrisoner.getName() + " ← Restored from trash (Size: " + trashBin.size() + ")");
         System.out.println("       (LIFO demonstrated: Most recently deleted prisoner restored first)\n");
         
-        // Add back to main list
-        prisonDetails.add(restoredPrisoner);
+        // Add back to the index (the controller publishes it in the next snapshot)
+        index.add(restoredPrisoner);
+        idAllocator.reserveThrough(restoredPrisoner.getPrisonerId());
         
         JOptionPane.showMessageDialog(null,
             "Prisoner restored successfully!\n\n" +
@@ -149,8 +171,9 @@ public class TrashBinOperation {
      * Demonstrates Stack.clear() operation
      * 
      * @param trashBin Stack containing deleted prisoners
+     * @param repository Store the purge is written to first
      */
-    public static void emptyTrash(SimpleStack trashBin) {
+    public static void emptyTrash(SimpleStack trashBin, PrisonerRepository repository) {
         if (trashBin.isEmpty()) {
             JOptionPane.showMessageDialog(null,
                 "Trash bin is already empty!",
@@ -174,6 +197,13 @@ public class TrashBinOperation {
             return;
         }
         
+        try {
+            repository.trashEmptied();
+        } catch (IOException e) {
+            showSaveFailure(e, "Empty Trash Failed");
+            return;
+        }
+        
         // Clear the stack
         trashBin.clear();
         System.out.println("\n[STACK] CLEAR: All " + count + " prisoner(s) permanently deleted");
@@ -185,4 +215,12 @@ public class TrashBinOperation {
             "Empty Trash Success",
             JOptionPane.INFORMATION_MESSAGE);
     }
+    
+    private static void showSaveFailure(IOException e, String title) {
+        System.err.println("[STACK] Could not save the change: " + e.getMessage());
+        JOptionPane.showMessageDialog(null,
+            "The change could not be saved, nothing was changed.\n" + e.getMessage(),
+            title,
+            JOptionPane.ERROR_MESSAGE);
+    }
 }
@@ -0,0 +1,186 @@
+package controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Locale;
+import model.PrisonerModel;
+
+/**
+ * TrigramIndex - Inverted index of 3-character substrings of name and crime type
+ * Each trigram maps to a sorted posting list of prisoner IDs
+ *
+ * Substring query: every trigram of the search term must appear in a match,
+ * so the candidates are the intersection of the term's posting lists
+ * (shortest list first). Candidates are then verified with contains(),
+ * which removes false positives (trigrams present but not adjacent)
+ *
+ * Terms shorter than 3 characters have no trigram and fall back to a scan
+ *
+ * @author Anjal Bhattarai
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final HashMap<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * Index the name and crime type of a prisoner
+     */
+    public void add(PrisonerModel prisoner) {
+        int id = prisoner.getPrisonerId();
+        for (String gram : trigramsOf(prisoner)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Remove the name and crime type of a prisoner (must be called before the fields change)
+     */
+    public void remove(PrisonerModel prisoner) {
+        int id = prisoner.getPrisonerId();
+        for (String gram : trigramsOf(prisoner)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Candidate IDs whose name or crime type contains every trigram of the term
+     * @param term Lowercased search term, at least 3 characters
+     * @return Sorted candidate IDs (may contain false positives), empty if none
+     */
+    public int[] candidates(String term) {
+        String[] grams = distinctTrigrams(term);
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new int[0]; // a trigram nobody has → no match possible
+            }
+        }
+        // Intersect smallest lists first so the working set shrinks fastest
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.length && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists[i]);
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Substring search over name and crime type using the index
+     * @param index Primary key index used to resolve candidate IDs
+     * @param searchTerm Raw search term (case-insensitive)
+     * @return Verified matches, in ascending ID order
+     */
+    public LinkedList<PrisonerModel> search(PrisonerIndex index, String searchTerm) {
+        LinkedList<PrisonerModel> results = new LinkedList<>();
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        for (int id : candidates(term)) {
+            PrisonerModel p = index.getById(id);
+            if (p != null && matches(p, term)) {
+                results.add(p);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * True if the term is long enough to be answered from the index
+     */
+    public static boolean canSearch(String term) {
+        return term != null && term.trim().length() >= GRAM;
+    }
+
+    /**
+     * Case-insensitive substring match on name or crime type
+     * @param term Lowercased search term
+     */
+    static boolean matches(PrisonerModel p, String term) {
+        return p.getName().toLowerCase(Locale.ROOT).contains(term)
+            || p.getCrimeType().toLowerCase(Locale.ROOT).contains(term);
+    }
+
+    public int trigramCount() {
+        return postings.size();
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+
+    // Keep only IDs of result[0..size) that are also in the list; returns new size
+    private static int intersect(int[] result, int size, PostingList list) {
+        int out = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < list.size; i++) {
+            int id = result[i];
+            while (j < list.size && list.ids[j] < id) {
+                j++;
+            }
+            if (j < list.size && list.ids[j] == id) {
+                result[out++] = id;
+            }
+        }
+        return out;
+    }
+
+    // Distinct trigrams of name + crime type (a prisoner appears once per posting list)
+    private static String[] trigramsOf(PrisonerModel prisoner) {
+        String name = prisoner.getName() == null ? "" : prisoner.getName().toLowerCase(Locale.ROOT);
+        String crime = prisoner.getCrimeType() == null ? "" : prisoner.getCrimeType().toLowerCase(Locale.ROOT);
+        // '\n' never occurs in either field, so no trigram spans the two values
+        return distinctTrigrams(name + "\n" + crime);
+    }
+
+    private static String[] distinctTrigrams(String text) {
+        HashSet<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM);
+            if (gram.indexOf('\n') < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams.toArray(new String[0]);
+    }
+
+    /**
+     * Sorted, growable array of prisoner IDs for one trigram
+     */
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+    }
+}
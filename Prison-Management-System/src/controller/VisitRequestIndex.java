@@ -0,0 +1,118 @@
+package controller;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import model.VisitRequest;
+
+/**
+ * VisitRequestIndex - Lookup structures kept alongside the visit request list
+ *
+ * requestId → VisitRequest (IntObjectHashMap, O(1) lookup, no boxing)
+ * prisonerId → that prisoner's requests (multimap, O(k) listing)
+ * status → live count (O(1) pending count for the admin queue)
+ * pending requests → PendingVisitQueue ordered by preferred date (triage)
+ * visitor name → PhoneticIndex ("sounds like" lookup at the gate)
+ *
+ * Status changes must go through changeStatus() so the counters stay correct
+ *
+ * @author Anjal Bhattarai
+ */
+public class VisitRequestIndex {
+
+    private static final String PENDING = "Pending";
+
+    private final IntObjectHashMap<VisitRequest> byId = new IntObjectHashMap<>();
+    private final IntObjectHashMap<LinkedList<VisitRequest>> byPrisoner = new IntObjectHashMap<>();
+    private final HashMap<String, Integer> statusCounts = new HashMap<>();
+    private final PendingVisitQueue pendingQueue = new PendingVisitQueue();
+    private final PhoneticIndex visitorSounds = new PhoneticIndex();
+
+    /**
+     * Register a request that was just added to the main list
+     */
+    public void add(VisitRequest request) {
+        byId.put(request.getRequestId(), request);
+        LinkedList<VisitRequest> requests = byPrisoner.get(request.getPrisonerId());
+        if (requests == null) {
+            requests = new LinkedList<>();
+            byPrisoner.put(request.getPrisonerId(), requests);
+        }
+        requests.add(request);
+        statusCounts.merge(request.getStatus(), 1, Integer::sum);
+        visitorSounds.add(request.getRequestId(), request.getVisitorName());
+        if (PENDING.equals(request.getStatus())) {
+            pendingQueue.insert(request);
+        }
+    }
+
+    /**
+     * Set a new status on a request and move it between status counters
+     */
+    public void changeStatus(VisitRequest request, String newStatus) {
+        statusCounts.merge(request.getStatus(), -1, Integer::sum);
+        request.setStatus(newStatus);
+        statusCounts.merge(newStatus, 1, Integer::sum);
+        if (PENDING.equals(newStatus)) {
+            pendingQueue.insert(request);
+        } else {
+            pendingQueue.remove(request.getRequestId());
+        }
+    }
+
+    /**
+     * Request by ID - O(1) average
+     * @return VisitRequest or null if not found
+     */
+    public VisitRequest getById(int requestId) {
+        return byId.get(requestId);
+    }
+
+    /**
+     * All requests for one prisoner, in submission order - O(k)
+     * @return A new list (safe for the caller to modify)
+     */
+    public LinkedList<VisitRequest> forPrisoner(int prisonerId) {
+        LinkedList<VisitRequest> requests = byPrisoner.get(prisonerId);
+        return requests == null ? new LinkedList<>() : new LinkedList<>(requests);
+    }
+
+    /**
+     * Requests whose visitor name sounds like the given name - one hash probe per word
+     * @return Matching requests in ascending request ID order
+     */
+    public LinkedList<VisitRequest> forVisitorSoundingLike(String visitorName) {
+        LinkedList<VisitRequest> result = new LinkedList<>();
+        for (int requestId : visitorSounds.lookup(visitorName)) {
+            VisitRequest request = byId.get(requestId);
+            if (request != null) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of requests currently in a status - O(1)
+     */
+    public int countByStatus(String status) {
+        return statusCounts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Pending requests ordered by preferred date, then request time
+     */
+    public PendingVisitQueue getPendingQueue() {
+        return pendingQueue;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        byPrisoner.clear();
+        statusCounts.clear();
+        pendingQueue.clear();
+    }
+}
@@ -0,0 +1,325 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import model.PrisonerModel;
+import model.VisitRequest;
+
+/**
+ * WriteAheadLog - Append-only binary log of every mutation
+ *
+ * File: 24-byte header (magic "PWL1", format version, generation, ModelCodec
+ * schema) followed by frames
+ *   [int payloadLength][int crc32(type + payload)][byte type][payload]
+ * Payloads use ModelCodec.STATELESS, so every frame decodes on its own
+ * Prisoner records carry the full after-image, so replaying the log in order
+ * rebuilds prisoners, trash and visit requests exactly
+ *
+ * Durability: append() returns only after the record is fsynced (one write +
+ * force per record). Mutations arrive one at a time from the UI, so there is
+ * nothing to batch; bulk loads go through a checkpoint instead of the log.
+ * After a failed write the log refuses further appends, since a partial frame
+ * would make recovery cut off every record written after it
+ *
+ * On open, a torn or corrupt tail (crash mid-write) is detected by length/CRC
+ * and truncated; everything before it is kept
+ *
+ * The generation ties the log to a SnapshotStore checkpoint: the log only
+ * holds changes made after the snapshot of the same generation
+ *
+ * @author Anjal Bhattarai
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    // ===== Record types =====
+    public static final byte PRISONER_PUT = 1;      // full prisoner image (add or update)
+    public static final byte PRISONER_STATUS = 2;   // id, status
+    public static final byte PRISONER_DELETE = 3;   // id (moved to trash)
+    public static final byte TRASH_RESTORE = 4;     // id (popped from trash)
+    public static final byte TRASH_EMPTY = 5;       // no payload
+    public static final byte VISIT_ADD = 6;         // full visit request
+    public static final byte VISIT_STATUS = 7;      // request id, status, admin notes
+
+    private static final int MAGIC = 0x50574C31;    // "PWL1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 24;
+    private static final int FRAME_HEADER_BYTES = 9;
+    private static final int MAX_PAYLOAD = 1 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private List<Record> recovered;
+
+    // Guarded by this
+    private long generation;
+    private boolean closed = false;
+    private IOException failure;
+    private long fsyncCount = 0;
+
+    /**
+     * Open (or create) a log file and recover its valid records
+     */
+    public WriteAheadLog(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+        try {
+            this.recovered = recover();
+        } catch (IOException | RuntimeException e) {
+            // The caller never gets this object, so nobody else could close the channel
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records that were in the file when it was opened, in write order
+     */
+    public List<Record> getRecoveredRecords() {
+        return recovered;
+    }
+
+    /**
+     * Checkpoint generation this log continues from
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Number of fsyncs performed so far
+     */
+    public synchronized long getFsyncCount() {
+        return fsyncCount;
+    }
+
+    // ===== Typed appends (all wait until durable) =====
+
+    public void logPrisonerPut(PrisonerModel p) throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writePrisoner(out, p);
+        append(PRISONER_PUT, out.toByteArray());
+    }
+
+    public void logPrisonerStatus(int prisonerId, String status) throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer(16);
+        out.writeVarInt(prisonerId);
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.PRISONER_STATUS, status);
+        append(PRISONER_STATUS, out.toByteArray());
+    }
+
+    public void logPrisonerDelete(int prisonerId) throws IOException {
+        append(PRISONER_DELETE, idPayload(prisonerId));
+    }
+
+    public void logTrashRestore(int prisonerId) throws IOException {
+        append(TRASH_RESTORE, idPayload(prisonerId));
+    }
+
+    public void logTrashEmpty() throws IOException {
+        append(TRASH_EMPTY, new byte[0]);
+    }
+
+    public void logVisitAdd(VisitRequest request) throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writeVisit(out, request);
+        append(VISIT_ADD, out.toByteArray());
+    }
+
+    public void logVisitStatus(int requestId, String status, String adminNotes) throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        out.writeVarInt(requestId);
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.VISIT_STATUS, status);
+        out.writeString(adminNotes);
+        append(VISIT_STATUS, out.toByteArray());
+    }
+
+    // ===== Append =====
+
+    /**
+     * Append a record and wait until it is on disk
+     */
+    public synchronized void append(byte type, byte[] payload) throws IOException {
+        if (payload.length > MAX_PAYLOAD) {
+            throw new IOException("Log record too large: " + payload.length + " bytes");
+        }
+        checkUsable();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(frame(type, payload));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            fsyncCount++;
+        } catch (IOException e) {
+            System.err.println("[WAL] Append failed: " + e.getMessage());
+            failure = e;
+            throw e;
+        }
+    }
+
+    /**
+     * Drop every record (their changes are now in a checkpoint) and continue
+     * as an empty log of the given generation
+     */
+    public synchronized void startGeneration(long newGeneration) throws IOException {
+        checkUsable();
+        writeHeader(newGeneration);
+        recovered = new ArrayList<>();
+    }
+
+    /**
+     * Current size of the log file in bytes
+     */
+    public long sizeBytes() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed earlier", failure);
+        }
+        if (closed) {
+            throw new IOException("Write-ahead log is closed");
+        }
+    }
+
+    // ===== Recovery =====
+
+    private List<Record> recover() throws IOException {
+        List<Record> records = new ArrayList<>();
+        long size = channel.size();
+        if (size < HEADER_BYTES) {
+            // New (or header-less) file: write a fresh header
+            writeHeader(0);
+            return records;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a prisoner write-ahead log: " + path);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported log version " + version + " in " + path);
+        }
+        generation = header.getLong();
+        int schema = header.getInt();
+        if (schema != ModelCodec.SCHEMA_VERSION) {
+            throw new IOException("Unsupported record schema " + schema + " in " + path);
+        }
+
+        long pos = HEADER_BYTES;
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        while (pos + FRAME_HEADER_BYTES <= size) {
+            frameHeader.clear();
+            channel.read(frameHeader, pos);
+            frameHeader.flip();
+            int length = frameHeader.getInt();
+            int crc = frameHeader.getInt();
+            byte type = frameHeader.get();
+            if (length < 0 || length > MAX_PAYLOAD || pos + FRAME_HEADER_BYTES + length > size) {
+                break; // torn tail
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, pos + FRAME_HEADER_BYTES);
+            if (checksum(type, payload.array()) != crc) {
+                break; // corrupt tail
+            }
+            records.add(new Record(type, payload.array()));
+            pos += FRAME_HEADER_BYTES + length;
+        }
+        if (pos < size) {
+            System.err.println("[WAL] Discarding " + (size - pos) + " byte(s) of incomplete log tail");
+            channel.truncate(pos);
+            channel.force(true);
+        }
+        channel.position(pos);
+        System.out.println("[WAL] Recovered " + records.size() + " record(s) from " + path);
+        return records;
+    }
+
+    // Truncate to an empty log of the given generation
+    private void writeHeader(long newGeneration) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(newGeneration)
+                                      .putInt(ModelCodec.SCHEMA_VERSION).putInt(0);
+        header.flip();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+        channel.position(HEADER_BYTES);
+        generation = newGeneration;
+    }
+
+    private static byte[] frame(byte type, byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt(checksum(type, payload)).put(type).put(payload);
+        return frame.array();
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] idPayload(int id) {
+        ModelCodec.Writer out = new ModelCodec.Writer(8);
+        out.writeVarInt(id);
+        return out.toByteArray();
+    }
+
+    /**
+     * One record read back from the log
+     */
+    public static final class Record {
+        private final byte type;
+        private final byte[] payload;
+
+        Record(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        /**
+         * Cursor over the payload, decoded with ModelCodec.STATELESS
+         */
+        public ModelCodec.Reader reader() {
+            return new ModelCodec.Reader(payload);
+        }
+    }
+}
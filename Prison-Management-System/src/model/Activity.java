@@ -20,7 +20,17 @@ public class Activity {
         this.prisonerId = prisonerId;
         this.timestamp = LocalDateTime.now();
     }
-    
+
+    /**
+     * Constructor with all fields (for loading existing data)
+     */
+    public Activity(String action, String prisonerName, int prisonerId, LocalDateTime timestamp) {
+        this.action = action;
+        this.prisonerName = prisonerName;
+        this.prisonerId = prisonerId;
+        this.timestamp = timestamp;
+    }
+
     public String getAction() {
         return action;
     }
@@ -0,0 +1,114 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CategoryDictionary - Shared string dictionary for low-cardinality fields
+ * Each distinct value (e.g. "Male", "Active", "Central Jail, Kathmandu") is
+ * stored once and given a small int code. PrisonerModel keeps only the codes,
+ * so equality checks are int compares and thousands of prisoners share one
+ * String instance per value
+ *
+ * Codes are assigned in first-seen order and never change or get reused
+ *
+ * @author Anjal Bhattarai
+ */
+public class CategoryDictionary {
+
+    /** Code used for a null value */
+    public static final int NO_CODE = -1;
+
+    // One dictionary per encoded PrisonerModel field
+    public static final CategoryDictionary GENDER = new CategoryDictionary("gender");
+    public static final CategoryDictionary STATUS = new CategoryDictionary("status");
+    public static final CategoryDictionary CRIME_TYPE = new CategoryDictionary("crimeType");
+    public static final CategoryDictionary PRISON_LOCATION = new CategoryDictionary("prisonLocation");
+    public static final CategoryDictionary HEALTH_STATUS = new CategoryDictionary("healthStatus");
+
+    private final String fieldName;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[8];
+    private volatile int size = 0;
+
+    public CategoryDictionary(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Code for a value, adding it to the dictionary if new
+     * @return The code, or NO_CODE for null
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : addValue(value);
+    }
+
+    /**
+     * Code for a value without adding it
+     * @return The code, or NO_CODE if the value has never been encoded
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NO_CODE;
+    }
+
+    /**
+     * Canonical string for a code
+     * @return The shared String instance, or null for NO_CODE
+     */
+    public String decode(int code) {
+        return code == NO_CODE ? null : values[code];
+    }
+
+    /**
+     * Which codes stand for a value containing the term (case-insensitive)
+     * One string test per distinct value, so a scan over n records then needs
+     * only an array lookup per record instead of n lowercase + contains calls
+     * @param lowerCaseTerm Term, already lowercased
+     * @return Array indexed by code; codes added after this call are not covered
+     */
+    public boolean[] codesContaining(String lowerCaseTerm) {
+        int count = size;
+        String[] current = values;
+        boolean[] matches = new boolean[count];
+        for (int code = 0; code < count; code++) {
+            matches[code] = current[code].toLowerCase().contains(lowerCaseTerm);
+        }
+        return matches;
+    }
+
+    /**
+     * Number of distinct values encoded so far (codes are 0 .. size-1)
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    private synchronized int addValue(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int code = size;
+        String[] current = values;
+        if (code == current.length) {
+            current = Arrays.copyOf(current, code * 2);
+        }
+        current[code] = value;
+        values = current; // publish array before the code becomes visible
+        size = code + 1;
+        codes.put(value, code);
+        return code;
+    }
+}
@@ -10,16 +10,16 @@ public class PrisonerModel {
     private int prisonerId;
     private String name;
     private int age;
-    private String gender;
+    private int genderCode; // CategoryDictionary.GENDER
     private String address;
-    private String crimeType;
+    private int crimeTypeCode; // CategoryDictionary.CRIME_TYPE
     private String crimeDescription;
     private LocalDate admissionDate;
     private int sentenceDuration; // in months
     private LocalDate releaseDate;
-    private String status; // "Active", "Released", "Transferred", "Court Hearing"
-    private String prisonLocation;
-    private String healthStatus;
+    private int statusCode; // CategoryDictionary.STATUS: "Active", "Released", "Transferred", "Court Hearing"
+    private int prisonLocationCode; // CategoryDictionary.PRISON_LOCATION
+    private int healthStatusCode; // CategoryDictionary.HEALTH_STATUS
     private String familyCode; // For family portal access
     private String photoPath; // Path to prisoner's photo
 
@@ -31,18 +31,18 @@ public class PrisonerModel {
         this.prisonerId = prisonerId;
         this.name = name;
         this.age = age;
-        this.gender = gender;
+        this.genderCode = CategoryDictionary.GENDER.encode(gender);
         this.address = address;
-        this.crimeType = crimeType;
+        this.crimeTypeCode = CategoryDictionary.CRIME_TYPE.encode(crimeType);
         this.crimeDescription = crimeDescription;
         this.admissionDate = admissionDate;
         this.sentenceDuration = sentenceDuration;
         this.releaseDate = admissionDate.plusMonths(sentenceDuration);
-        this.prisonLocation = prisonLocation;
+        this.prisonLocationCode = CategoryDictionary.PRISON_LOCATION.encode(prisonLocation);
         this.familyCode = familyCode;
         this.photoPath = photoPath;
-        this.status = "Active";
-        this.healthStatus = "Good";
+        this.statusCode = CategoryDictionary.STATUS.encode("Active");
+        this.healthStatusCode = CategoryDictionary.HEALTH_STATUS.encode("Good");
     }
     
     // Constructor (with manual status)
@@ -53,18 +53,18 @@ public class PrisonerModel {
         this.prisonerId = prisonerId;
         this.name = name;
         this.age = age;
-        this.gender = gender;
+        this.genderCode = CategoryDictionary.GENDER.encode(gender);
         this.address = address;
-        this.crimeType = crimeType;
+        this.crimeTypeCode = CategoryDictionary.CRIME_TYPE.encode(crimeType);
         this.crimeDescription = crimeDescription;
         this.admissionDate = admissionDate;
         this.sentenceDuration = sentenceDuration;
         this.releaseDate = admissionDate.plusMonths(sentenceDuration);
-        this.prisonLocation = prisonLocation;
+        this.prisonLocationCode = CategoryDictionary.PRISON_LOCATION.encode(prisonLocation);
         this.familyCode = familyCode;
         this.photoPath = photoPath;
-        this.status = status;  // Use provided status
-        this.healthStatus = "Good";
+        this.statusCode = CategoryDictionary.STATUS.encode(status);  // Use provided status
+        this.healthStatusCode = CategoryDictionary.HEALTH_STATUS.encode("Good");
     }
 
     // Getters and Setters
@@ -93,11 +93,15 @@ public class PrisonerModel {
     }
 
     public String getGender() {
-        return gender;
+        return CategoryDictionary.GENDER.decode(genderCode);
+    }
+
+    public int getGenderCode() {
+        return genderCode;
     }
 
     public void setGender(String gender) {
-        this.gender = gender;
+        this.genderCode = CategoryDictionary.GENDER.encode(gender);
     }
 
     public String getAddress() {
@@ -109,11 +113,15 @@ public class PrisonerModel {
     }
 
     public String getCrimeType() {
-        return crimeType;
+        return CategoryDictionary.CRIME_TYPE.decode(crimeTypeCode);
+    }
+
+    public int getCrimeTypeCode() {
+        return crimeTypeCode;
     }
 
     public void setCrimeType(String crimeType) {
-        this.crimeType = crimeType;
+        this.crimeTypeCode = CategoryDictionary.CRIME_TYPE.encode(crimeType);
     }
 
     public String getCrimeDescription() {
@@ -153,27 +161,39 @@ public class PrisonerModel {
     }
 
     public String getStatus() {
-        return status;
+        return CategoryDictionary.STATUS.decode(statusCode);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.statusCode = CategoryDictionary.STATUS.encode(status);
     }
 
     public String getPrisonLocation() {
-        return prisonLocation;
+        return CategoryDictionary.PRISON_LOCATION.decode(prisonLocationCode);
+    }
+
+    public int getPrisonLocationCode() {
+        return prisonLocationCode;
     }
 
     public void setPrisonLocation(String prisonLocation) {
-        this.prisonLocation = prisonLocation;
+        this.prisonLocationCode = CategoryDictionary.PRISON_LOCATION.encode(prisonLocation);
     }
 
     public String getHealthStatus() {
-        return healthStatus;
+        return CategoryDictionary.HEALTH_STATUS.decode(healthStatusCode);
+    }
+
+    public int getHealthStatusCode() {
+        return healthStatusCode;
     }
 
     public void setHealthStatus(String healthStatus) {
-        this.healthStatus = healthStatus;
+        this.healthStatusCode = CategoryDictionary.HEALTH_STATUS.encode(healthStatus);
     }
 
     public String getFamilyCode() {
@@ -5,12 +5,20 @@
 package view;
 
 import java.awt.Color;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.LinkedList;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
 import model.PrisonerModel;
 import controller.PrisonController;
+import controller.PrisonStatistics;
+import controller.QueryResult;
 
 /**
  * MainFrame - Main Application Window
@@ -28,6 +36,18 @@ public class MainFrame extends javax.swing.JFrame {
     public static final String FAMILY_LOGIN_PANEL = "card5";
     public static final String FAMILY_DASHBOARD_PANEL = "card6";
     
+    // Search types added to SearchTypeComboBox in setupCustomComponents
+    public static final String SEARCH_ID_RANGE = "ID Range [ from-to ]";
+    public static final String SEARCH_RELEASES = "Releases [ next N days ]";
+    public static final String SEARCH_ADMISSIONS = "Admissions [ from to, at location ]";
+    public static final String SEARCH_QUERY = "Filter Query [ field = value and ... ]";
+    public static final String SEARCH_SOUNDS_LIKE = "Name Sounds Like [ Phonetic ]";
+    
+    // "2020-01-01 to 2020-12-31" with an optional " at <prison location>"
+    private static final Pattern ADMISSIONS_TERM =
+            Pattern.compile("(\\d{4}-\\d{2}-\\d{2})\\s+to\\s+(\\d{4}-\\d{2}-\\d{2})(?:\\s+at\\s+(.+))?");
+    private static final int MAX_INTAKE_LINES = 12;
+    
     // Color Scheme - Professional Blue/Gray
     public static final Color PRIMARY_COLOR = new Color(41, 98, 255);      // Royal Blue
     public static final Color SECONDARY_COLOR = new Color(52, 73, 94);     // Dark Blue-Gray
@@ -44,6 +64,13 @@ public class MainFrame extends javax.swing.JFrame {
 
     // Current prisoner ID for family dashboard
     private int currentFamilyPrisonerId = 0;
+    
+    // Type-ahead popup under SearchTextField
+    private static final int MAX_SUGGESTIONS = 8;
+    private final DefaultListModel<String> suggestionModel = new DefaultListModel<>();
+    private final JList<String> suggestionList = new JList<>(suggestionModel);
+    private final JPopupMenu suggestionPopup = new JPopupMenu();
+    private boolean applyingSuggestion = false;
 
     /**
      * Creates new form MainFrame
@@ -53,7 +80,18 @@ public class MainFrame extends javax.swing.JFrame {
         setupCustomComponents();
         
         // Initialize controller with initial data
-        controller = new PrisonController();
+        try {
+            controller = new PrisonController();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // Never run on sample data in place of records that failed to load,
+            // nor with a storage or capacity setting we could not understand
+            JOptionPane.showMessageDialog(null,
+                e.getMessage() + "\n\nThe application will now close. No data has been changed.",
+                "Startup Error",
+                JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+            return;
+        }
         controller.prepareInitialData();
         
         showHomePanel();
@@ -260,6 +298,13 @@ public class MainFrame extends javax.swing.JFrame {
         setupPlaceholderText(jTextField1, "Enter prisoner ID");
         setupPlaceholderText(jTextField2, "Enter family code");
         
+        // Search types beyond the two defined in the form
+        SearchTypeComboBox.addItem(SEARCH_ID_RANGE);
+        SearchTypeComboBox.addItem(SEARCH_RELEASES);
+        SearchTypeComboBox.addItem(SEARCH_ADMISSIONS);
+        SearchTypeComboBox.addItem(SEARCH_SOUNDS_LIKE);
+        SearchTypeComboBox.addItem(SEARCH_QUERY);
+        
         // Setup Search button
         SearchButton.addActionListener(evt -> {
             String searchType = (String) SearchTypeComboBox.getSelectedItem();
@@ -288,7 +333,11 @@ public class MainFrame extends javax.swing.JFrame {
             }
             
             // Call controller's search method
-            LinkedList<PrisonerModel> results = controller.searchPrisoners(searchType, searchTerm);
+            StringBuilder details = new StringBuilder();
+            LinkedList<PrisonerModel> results = runSearch(searchType, searchTerm, details);
+            if (results == null) {
+                return; // Term did not fit the search type - message already shown
+            }
             
             // Display results
             if (!results.isEmpty()) {
@@ -296,7 +345,7 @@ public class MainFrame extends javax.swing.JFrame {
                 PrisonerDialogHelper.setupTableButtons(PrisonerRecordTable, controller, this);
                 
                 JOptionPane.showMessageDialog(this,
-                    "Search complete!\nFound " + results.size() + " result(s)\n\n" +
+                    "Search complete!\nFound " + results.size() + " result(s)\n\n" + details +
                     "Check console output to see the search algorithm in action.",
                     "Search Success",
                     JOptionPane.INFORMATION_MESSAGE);
@@ -354,6 +403,9 @@ public class MainFrame extends javax.swing.JFrame {
             dialog.setVisible(true);
         });
         
+        // Setup live suggestions under the search box
+        setupSearchSuggestions();
+        
         // Setup Back to Home button in Admin Login (jButton4)
         jButton4.addActionListener(evt -> {
             showHomePanel();
@@ -366,6 +418,229 @@ public class MainFrame extends javax.swing.JFrame {
         
     }     
     
+    /**
+     * Run the search selected in SearchTypeComboBox
+     * @param details Receives extra lines for the result message (ends with a blank line)
+     * @return Matching prisoners, or null if the term does not fit the search type
+     */
+    private LinkedList<PrisonerModel> runSearch(String searchType, String searchTerm, StringBuilder details) {
+        if (SEARCH_ID_RANGE.equals(searchType)) {
+            String[] bounds = searchTerm.split("\\s*-\\s*");
+            if (bounds.length != 2 || !bounds[0].matches("\\d{1,9}") || !bounds[1].matches("\\d{1,9}")) {
+                showSearchInputError("Enter an ID range such as 101-150.");
+                return null;
+            }
+            int fromId = Integer.parseInt(bounds[0]);
+            int toId = Integer.parseInt(bounds[1]);
+            return controller.searchPrisonersByIdRange(Math.min(fromId, toId), Math.max(fromId, toId));
+        }
+        if (SEARCH_RELEASES.equals(searchType)) {
+            if (!searchTerm.matches("\\d{1,5}")) {
+                showSearchInputError("Enter the number of days to look ahead, e.g. 30.");
+                return null;
+            }
+            int days = Integer.parseInt(searchTerm);
+            details.append("Releases from today through ").append(LocalDate.now().plusDays(days)).append("\n\n");
+            return controller.getUpcomingReleases(days);
+        }
+        if (SEARCH_ADMISSIONS.equals(searchType)) {
+            Matcher term = ADMISSIONS_TERM.matcher(searchTerm);
+            LocalDate from = null;
+            LocalDate to = null;
+            if (term.matches()) {
+                try {
+                    from = LocalDate.parse(term.group(1));
+                    to = LocalDate.parse(term.group(2));
+                } catch (DateTimeParseException e) {
+                    from = null; // e.g. 2021-02-30 - well formed but not a date
+                }
+            }
+            if (from == null) {
+                showSearchInputError("Enter admission dates such as 2020-01-01 to 2020-12-31,\n" +
+                                     "optionally followed by: at Central Jail, Kathmandu");
+                return null;
+            }
+            if (from.isAfter(to)) {
+                LocalDate swap = from;
+                from = to;
+                to = swap;
+            }
+            appendMonthlyIntake(details, YearMonth.from(from), YearMonth.from(to));
+            return controller.getAdmissionsBetween(from, to, term.group(3));
+        }
+        if (SEARCH_SOUNDS_LIKE.equals(searchType)) {
+            details.append("Names that sound like '").append(searchTerm).append("'\n\n");
+            return controller.searchPrisonersSoundingLike(searchTerm);
+        }
+        if (SEARCH_QUERY.equals(searchType)) {
+            QueryResult result;
+            try {
+                result = controller.runQuery(searchTerm);
+            } catch (IllegalArgumentException e) {
+                showSearchInputError(e.getMessage() + "\n\nExample: status = Active and age = 25..45 and crime type ~ theft\n" +
+                                     "Use = for exact values, ~ for contains, from..to for ranges, and/or to combine.");
+                return null;
+            }
+            details.append("Plan: ").append(result.getPlan()).append('\n')
+                   .append("Checked ").append(result.getCandidatesChecked()).append(" candidate(s) in ")
+                   .append(result.getElapsedMicros()).append(" µs\n\n");
+            return result.getPrisoners();
+        }
+        return controller.searchPrisoners(searchType, searchTerm);
+    }
+    
+    /**
+     * Monthly intake lines for the admissions search message (all locations)
+     * Only months with admissions are listed, at most MAX_INTAKE_LINES of them
+     */
+    private void appendMonthlyIntake(StringBuilder details, YearMonth fromMonth, YearMonth toMonth) {
+        details.append("Monthly intake (all locations):\n");
+        int listed = 0;
+        int skipped = 0;
+        for (Map.Entry<YearMonth, Integer> month : controller.getMonthlyIntake(fromMonth, toMonth).entrySet()) {
+            if (month.getValue() == 0) {
+                continue;
+            }
+            if (listed < MAX_INTAKE_LINES) {
+                details.append("  ").append(month.getKey()).append(": ").append(month.getValue()).append('\n');
+                listed++;
+            } else {
+                skipped++;
+            }
+        }
+        if (listed == 0) {
+            details.append("  No admissions in these months\n");
+        } else if (skipped > 0) {
+            details.append("  ... and ").append(skipped).append(" more month(s)\n");
+        }
+        details.append('\n');
+    }
+    
+    private void showSearchInputError(String message) {
+        JOptionPane.showMessageDialog(this,
+            message,
+            "Invalid Search",
+            JOptionPane.ERROR_MESSAGE);
+    }
+    
+    /**
+     * Live type-ahead for SearchTextField
+     * Every keystroke asks the controller's prefix trie for the top completions
+     * (microseconds, so it runs directly on the EDT) and shows them in a popup.
+     * Up/Down moves through the list, Enter or click picks a suggestion
+     */
+    private void setupSearchSuggestions() {
+        suggestionList.setFocusable(false);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setFont(SearchTextField.getFont());
+        suggestionPopup.setFocusable(false);
+        suggestionPopup.setBorder(BorderFactory.createLineBorder(TEXT_SECONDARY));
+        suggestionPopup.add(new JScrollPane(suggestionList));
+        
+        SearchTextField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                refreshSuggestions();
+            }
+            
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                refreshSuggestions();
+            }
+            
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                // Attribute changes only - text is unchanged
+            }
+        });
+        
+        SearchTextField.addKeyListener(new java.awt.event.KeyAdapter() {
+            @Override
+            public void keyPressed(java.awt.event.KeyEvent e) {
+                if (!suggestionPopup.isVisible()) {
+                    return;
+                }
+                int selected = suggestionList.getSelectedIndex();
+                if (e.getKeyCode() == java.awt.event.KeyEvent.VK_DOWN) {
+                    suggestionList.setSelectedIndex(Math.min(selected + 1, suggestionModel.size() - 1));
+                    e.consume();
+                } else if (e.getKeyCode() == java.awt.event.KeyEvent.VK_UP) {
+                    suggestionList.setSelectedIndex(Math.max(selected - 1, 0));
+                    e.consume();
+                } else if (e.getKeyCode() == java.awt.event.KeyEvent.VK_ESCAPE) {
+                    suggestionPopup.setVisible(false);
+                    e.consume();
+                }
+            }
+        });
+        
+        suggestionList.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                int row = suggestionList.locationToIndex(e.getPoint());
+                if (row >= 0) {
+                    applySuggestion(suggestionModel.get(row));
+                }
+            }
+        });
+        
+        SearchTextField.addFocusListener(new java.awt.event.FocusAdapter() {
+            @Override
+            public void focusLost(java.awt.event.FocusEvent e) {
+                suggestionPopup.setVisible(false);
+            }
+        });
+        
+        // Suggestions depend on the search type (IDs vs names/crimes)
+        SearchTypeComboBox.addActionListener(evt -> refreshSuggestions());
+    }
+    
+    /**
+     * Fill the suggestion popup for the current search text
+     */
+    private void refreshSuggestions() {
+        if (applyingSuggestion) {
+            return;
+        }
+        String prefix = SearchTextField.getText().trim();
+        java.util.List<String> suggestions = prefix.isEmpty()
+            ? java.util.Collections.emptyList()
+            : controller.getSearchSuggestions((String) SearchTypeComboBox.getSelectedItem(), prefix, MAX_SUGGESTIONS);
+        
+        suggestionModel.clear();
+        for (String suggestion : suggestions) {
+            suggestionModel.addElement(suggestion);
+        }
+        
+        if (suggestionModel.isEmpty() || !SearchTextField.isShowing()) {
+            suggestionPopup.setVisible(false);
+            return;
+        }
+        suggestionList.setVisibleRowCount(suggestionModel.size());
+        suggestionPopup.setPopupSize(Math.max(SearchTextField.getWidth(), 220),
+                                     suggestionList.getPreferredScrollableViewportSize().height + 4);
+        // Popup changes are deferred so the document is never touched inside its own notification
+        SwingUtilities.invokeLater(() -> {
+            if (!suggestionModel.isEmpty() && SearchTextField.isShowing()) {
+                suggestionPopup.show(SearchTextField, 0, SearchTextField.getHeight());
+                SearchTextField.requestFocusInWindow();
+            }
+        });
+    }
+    
+    /**
+     * Put a suggestion in the search box without re-opening the popup
+     */
+    private void applySuggestion(String suggestion) {
+        applyingSuggestion = true;
+        try {
+            SearchTextField.setText(suggestion);
+        } finally {
+            applyingSuggestion = false;
+        }
+        suggestionPopup.setVisible(false);
+    }
+    
     /**
      * Update Recent Activity Panel with latest activities
      */
@@ -1756,7 +2031,12 @@ public class MainFrame extends javax.swing.JFrame {
     }//GEN-LAST:event_AdminLogOutButtonActionPerformed
 
     private void SearchTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_SearchTextFieldActionPerformed
-        
+        // Enter: take the highlighted suggestion (if any), then run the search
+        if (suggestionPopup.isVisible() && suggestionList.getSelectedValue() != null) {
+            applySuggestion(suggestionList.getSelectedValue());
+        }
+        suggestionPopup.setVisible(false);
+        SearchButton.doClick();
     }//GEN-LAST:event_SearchTextFieldActionPerformed
 
     private void AddPrisonerButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_AddPrisonerButtonActionPerformed
@@ -2023,37 +2303,41 @@ public class MainFrame extends javax.swing.JFrame {
      * Update statistics displayed on home panel
      */
     private void updateHomeStatistics() {
-        // Get all prisoners
-        LinkedList<PrisonerModel> allPrisoners = controller.getAllPrisoners();
-        
-        // Calculate statistics
-        int totalPrisoners = allPrisoners.size();
-        int maleCount = 0;
-        int femaleCount = 0;
-        
-        
-        for (PrisonerModel prisoner : allPrisoners) {
-            // Gender count
-            if ("Male".equalsIgnoreCase(prisoner.getGender())) {
-                maleCount++;
-            } else if ("Female".equalsIgnoreCase(prisoner.getGender())) {
-                femaleCount++;
-            }
-            
-            
-        }
-        
-        // Calculate occupancy rate (total capacity = 16000)
-        int totalCapacity = 16000;
-        double occupancyRate = (totalPrisoners * 100.0) / totalCapacity;
+        // Counters are maintained by the controller on every change - no rescan here
+        PrisonStatistics stats = controller.getStatistics();
+        int totalPrisoners = stats.getTotal();
+        int maleCount = stats.countByGender("Male");
+        int femaleCount = stats.countByGender("Female");
+        double occupancyRate = stats.getOccupancyRate();
+        String occupancyText = occupancyRate < 0 ? "n/a" : String.format("%.2f%%", occupancyRate);
         
         // Update statistics labels
         jLabel31.setText(String.format("<html><div style='font-size:14px; font-weight:bold;'>%d</div><div style='font-size:10px; color:gray;'>Total Prisoners</div></html>", totalPrisoners));
-        jLabel32.setText(String.format("<html><div style='font-size:14px; font-weight:bold;'>%.2f%%</div><div style='font-size:10px; color:gray;'>Occupancy Rate</div></html>", occupancyRate));
+        // Averages are one pass over the primitive columns - cheap enough for every refresh
+        jLabel31.setToolTipText(totalPrisoners == 0 ? null : String.format(
+                "Average age: %.1f years | Average sentence: %.1f months",
+                controller.getAverageAge(), controller.getAverageSentenceMonths()));
+        jLabel32.setText(String.format("<html><div style='font-size:14px; font-weight:bold;'>%s</div><div style='font-size:10px; color:gray;'>Occupancy of %,d places</div></html>", occupancyText, stats.getTotalCapacity()));
+        jLabel32.setToolTipText(locationOccupancyText(stats));
         jLabel33.setText(String.format("<html><div style='font-size:14px; font-weight:bold;'>%d</div><div style='font-size:10px; color:gray;'>Male Prisoners</div></html>", maleCount));
         jLabel34.setText(String.format("<html><div style='font-size:14px; font-weight:bold;'>%d</div><div style='font-size:10px; color:gray;'>Female Prisoners</div></html>", femaleCount));
     }
 
+    /**
+     * Tooltip for the occupancy card: one line per location with a configured capacity
+     */
+    private static String locationOccupancyText(PrisonStatistics stats) {
+        if (stats.getCapacityLocations().isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder("<html>");
+        for (String location : stats.getCapacityLocations()) {
+            text.append(String.format("%s: %d / %,d (%.2f%%)<br>", location, stats.countByLocation(location),
+                                      stats.getLocationCapacity(location), stats.getLocationOccupancyRate(location)));
+        }
+        return text.append("</html>").toString();
+    }
+
     private void showAdminLoginPanel() {
         CardLayout cl = (CardLayout) mainPanel.getLayout();
         cl.show(mainPanel, ADMIN_LOGIN_PANEL);
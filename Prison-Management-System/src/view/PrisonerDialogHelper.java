@@ -697,13 +697,11 @@ public class PrisonerDialogHelper {
                     sentenceDuration,
                     location,
                     familyCode,
-                    selectedPhotoPath[0]
+                    selectedPhotoPath[0],
+                    (String) statusCombo.getSelectedItem()
                 );
                 
                 if (success) {
-                    // Update status separately
-                    prisoner.setStatus((String) statusCombo.getSelectedItem());
-                    
                     controller.loadPrisonerToTable(table);
                     setupTableButtons(table, controller, parent);
                     // Update recent activities
@@ -714,6 +712,13 @@ public class PrisonerDialogHelper {
                         "Prisoner updated successfully!",
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    // Details and status are one change - nothing was saved
+                    JOptionPane.showMessageDialog(parent,
+                        "Prisoner could not be updated. No changes were saved.\n" +
+                        "Check that the name is not used by another prisoner and try again.",
+                        "Update Failed",
+                        JOptionPane.ERROR_MESSAGE);
                 }
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(parent,
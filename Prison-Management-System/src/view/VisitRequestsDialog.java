@@ -143,12 +143,16 @@ public class VisitRequestsDialog extends JDialog {
         buttonPanel.setBackground(BACKGROUND_COLOR);
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
+        JButton findVisitorButton = createStyledButton("Find Visitor", PRIMARY_COLOR);
+        findVisitorButton.addActionListener(e -> findVisitor());
+        
         JButton refreshButton = createStyledButton("Refresh", PRIMARY_COLOR);
         refreshButton.addActionListener(e -> loadVisitRequests());
         
         JButton closeButton = createStyledButton("Close", new Color(108, 117, 125));
         closeButton.addActionListener(e -> dispose());
         
+        buttonPanel.add(findVisitorButton);
         buttonPanel.add(refreshButton);
         buttonPanel.add(closeButton);
         
@@ -165,31 +169,68 @@ public class VisitRequestsDialog extends JDialog {
     private void loadVisitRequests() {
         tableModel.setRowCount(0);
         LinkedList<VisitRequest> requests = controller.getAllVisitRequests();
+        int pending = controller.getPendingVisitRequestsCount();
         
+        // Pending requests first, most urgent (earliest preferred date) at the top,
+        // straight from the pending queue; processed requests follow in history order
+        for (VisitRequest request : controller.getNextDueVisitRequests(pending)) {
+            addRequestRow(request);
+        }
         for (VisitRequest request : requests) {
-            Object[] row = {
-                request.getRequestId(),
-                request.getPrisonerId(),
-                request.getPrisonerName(),
-                request.getVisitorName(),
-                request.getRelationship(),
-                request.getFormattedPreferredDate(),
-                request.getPurpose(),
-                request.getStatus(),
-                request.getFormattedRequestDateTime(),
-                "Actions"
-            };
-            tableModel.addRow(row);
+            if (!"Pending".equals(request.getStatus())) {
+                addRequestRow(request);
+            }
         }
         
         int total = requests.size();
-        int pending = controller.getPendingVisitRequestsCount();
         statusLabel.setText(String.format(
             "Total Requests: %d  |  Pending: %d  |  Processed: %d",
             total, pending, total - pending
         ));
     }
     
+    /**
+     * Show only the requests whose visitor name sounds like the name the admin enters
+     * (spelling variants such as Sita / Seeta match); Refresh shows every request again
+     */
+    private void findVisitor() {
+        String name = JOptionPane.showInputDialog(
+            this,
+            "Enter the visitor's name (spelling variants also match):",
+            "Find Visitor",
+            JOptionPane.QUESTION_MESSAGE
+        );
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        
+        LinkedList<VisitRequest> matches = controller.findVisitRequestsByVisitorName(name.trim());
+        tableModel.setRowCount(0);
+        for (VisitRequest request : matches) {
+            addRequestRow(request);
+        }
+        statusLabel.setText(String.format(
+            "Visitors sounding like '%s': %d request(s)  |  Press Refresh to show all requests",
+            name.trim(), matches.size()
+        ));
+    }
+    
+    private void addRequestRow(VisitRequest request) {
+        Object[] row = {
+            request.getRequestId(),
+            request.getPrisonerId(),
+            request.getPrisonerName(),
+            request.getVisitorName(),
+            request.getRelationship(),
+            request.getFormattedPreferredDate(),
+            request.getPurpose(),
+            request.getStatus(),
+            request.getFormattedRequestDateTime(),
+            "Actions"
+        };
+        tableModel.addRow(row);
+    }
+    
     public void refreshTable() {
         loadVisitRequests();
     }
@@ -0,0 +1,65 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import model.CategoryDictionary;
+import org.junit.Test;
+
+/**
+ * BitmapIndexTest - Rows per dictionary code, counts and OR lookups
+ *
+ * @author Anjal Bhattarai
+ */
+public class BitmapIndexTest {
+
+    @Test
+    public void rowsAreGroupedByValue() {
+        CategoryDictionary dictionary = new CategoryDictionary("status");
+        BitmapIndex index = new BitmapIndex(dictionary);
+        int active = dictionary.encode("Active");
+        int parole = dictionary.encode("Parole");
+        for (int row = 0; row < 70000; row++) {
+            index.add(row % 3 == 0 ? parole : active, row);
+        }
+        assertEquals(23334, index.count("Parole"));
+        assertEquals(46666, index.count("Active"));
+        assertEquals(70000, index.rowsForAny("Active", "Parole").cardinality());
+        assertTrue(index.rowsFor("Active").and(index.rowsFor("Parole")).isEmpty());
+        assertEquals(Arrays.asList("Active", "Parole"), index.values());
+
+        index.remove(parole, 65535);
+        index.add(active, 65535);
+        assertTrue(index.rowsFor("Active").contains(65535));
+        assertEquals(23333, index.count("Parole"));
+    }
+
+    @Test
+    public void unknownValuesHaveNoRows() {
+        CategoryDictionary dictionary = new CategoryDictionary("crimeType");
+        BitmapIndex index = new BitmapIndex(dictionary);
+        index.add(dictionary.encode("Theft"), 7);
+        index.add(CategoryDictionary.NO_CODE, 8);
+
+        assertTrue(index.rowsFor("Arson").isEmpty());
+        assertTrue(index.rowsFor(42).isEmpty());
+        assertEquals(0, index.count(null));
+        assertArrayEquals(new int[] {7}, index.rowsForAny("Theft", "Arson").toArray());
+    }
+
+    @Test
+    public void emptiedValuesDropOutOfValues() {
+        CategoryDictionary dictionary = new CategoryDictionary("gender");
+        BitmapIndex index = new BitmapIndex(dictionary);
+        for (int code = 0; code < 20; code++) {   // grows past the initial 8 slots
+            index.add(dictionary.encode("value" + code), code);
+        }
+        assertEquals(20, index.values().size());
+        index.remove(dictionary.codeOf("value3"), 3);
+        assertEquals(19, index.values().size());
+        index.clear();
+        assertTrue(index.values().isEmpty());
+    }
+}
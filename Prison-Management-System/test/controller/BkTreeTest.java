@@ -0,0 +1,153 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import model.PrisonerModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BkTreeTest - Edit distance limits, multi-word names and pruning against a scan
+ *
+ * @author Anjal Bhattarai
+ */
+public class BkTreeTest {
+
+    private final List<PrisonerModel> all = new ArrayList<>();
+    private PrisonerIndex index;
+    private BkTree tree;
+
+    @Before
+    public void setUp() {
+        index = new PrisonerIndex();
+        tree = new BkTree();
+        add(101, "Ram Bahadur Thapa");
+        add(102, "Sita Shrestha");
+        add(103, "Hari Shrestha");
+        add(104, "Gita Thapa");
+        add(105, "Ram Prasad Sharma");
+    }
+
+    private PrisonerModel add(int id, String name) {
+        PrisonerModel p = new PrisonerModel(id, name, 30, "Male", "Kathmandu", "Theft", "d",
+                LocalDate.of(2020, 1, 1), 12, "Central Jail, Kathmandu", "F" + id, null);
+        all.add(p);
+        index.add(p);
+        tree.add(p);
+        return p;
+    }
+
+    @Test
+    public void distanceCountsInsertsDeletesAndSubstitutions() {
+        assertEquals(0, BkTree.distance("thapa", "thapa"));
+        assertEquals(1, BkTree.distance("shresta", "shrestha"));   // insert
+        assertEquals(1, BkTree.distance("bahadur", "bahdur"));     // delete
+        assertEquals(1, BkTree.distance("gita", "sita"));          // substitute
+        assertEquals(2, BkTree.distance("thpaa", "thapa"));        // transposition costs two
+        assertEquals(5, BkTree.distance("", "thapa"));
+        assertEquals(BkTree.distance("kitten", "sitting"), BkTree.distance("sitting", "kitten"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+    }
+
+    @Test
+    public void matchesAtTheLimitAreKeptAndBeyondAreDropped() {
+        // "shresth" is 1 edit from "shrestha" and at least 4 from every other word
+        assertEquals(0, tree.search("shresth", 0).size());
+        IntIntHashMap one = tree.search("shresth", 1);
+        assertEquals(2, one.size());
+        assertEquals(1, one.get(102));
+        assertEquals(1, one.get(103));
+
+        // "thpaa" is exactly 2 edits from "thapa"
+        assertTrue(tree.search("thpaa", 1).isEmpty());
+        IntIntHashMap two = tree.search("thpaa", 2);
+        assertEquals(2, two.get(101));
+        assertEquals(2, two.get(104));
+    }
+
+    @Test
+    public void exactSearchNeedsDistanceZero() {
+        IntIntHashMap hits = tree.search("  RAM ", 0);
+        assertEquals(2, hits.size());
+        assertEquals(0, hits.get(101));
+        assertEquals(0, hits.get(105));
+        assertFalse(hits.containsKey(102));
+    }
+
+    @Test
+    public void everyWordMustMatchAndCloserNamesComeFirst() {
+        assertIds(tree.searchNames(index, "sita shresta", 1), 102);
+        assertIds(tree.searchNames(index, "hita shrestha", 3), 102, 103);   // 1 from "sita", 3 from "hari"
+        assertIds(tree.searchNames(index, "ram thapa", 1), 101);
+        assertIds(tree.searchNames(index, "ram thapa xyzzy", 1));
+        assertIds(tree.searchNames(index, "", 1));
+    }
+
+    @Test
+    public void removedPrisonersAreNotFoundButTheirTokenStillRoutes() {
+        int before = tree.tokenCount();
+        PrisonerModel gita = all.get(3);
+        tree.remove(gita);
+        assertEquals(before - 1, tree.tokenCount());   // "gita" is gone, "thapa" still has 101
+        assertIds(tree.searchNames(index, "thapa", 0), 101);
+        assertIds(tree.searchNames(index, "gita", 0));
+        assertIds(tree.searchNames(index, "sita", 1), 102);
+
+        tree.add(gita);
+        assertEquals(before, tree.tokenCount());
+        assertIds(tree.searchNames(index, "gita", 0), 104);
+    }
+
+    @Test
+    public void treeAgreesWithABruteForceScan() {
+        Random random = new Random(7);
+        BkTree big = new BkTree();
+        List<PrisonerModel> prisoners = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            PrisonerModel p = new PrisonerModel(id, randomWord(random), 30, "Male", "Kathmandu", "Theft", "d",
+                    LocalDate.of(2020, 1, 1), 12, "Central Jail, Kathmandu", "F" + id, null);
+            prisoners.add(p);
+            big.add(p);
+        }
+        for (int q = 0; q < 50; q++) {
+            String term = randomWord(random);
+            for (int limit = 0; limit <= 3; limit++) {
+                IntIntHashMap hits = big.search(term, limit);
+                int expected = 0;
+                for (PrisonerModel p : prisoners) {
+                    int d = BkTree.distance(term, p.getName());
+                    if (d <= limit) {
+                        expected++;
+                        assertEquals(term + " vs " + p.getName(), d, hits.get(p.getPrisonerId()));
+                    }
+                }
+                assertEquals(term + " within " + limit, expected, hits.size());
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(4)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = "abcdeh".charAt(random.nextInt(6));
+        }
+        return new String(word);
+    }
+
+    private static void assertIds(LinkedList<PrisonerModel> found, int... ids) {
+        int[] actual = new int[found.size()];
+        int n = 0;
+        for (PrisonerModel p : found) {
+            actual[n++] = p.getPrisonerId();
+        }
+        assertArrayEquals(ids, actual);
+    }
+}
@@ -0,0 +1,118 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.LinkedList;
+import model.PrisonerModel;
+import org.junit.Test;
+
+/**
+ * DateIndexTest - Inclusive date ranges, shared days and removal
+ *
+ * @author Anjal Bhattarai
+ */
+public class DateIndexTest {
+
+    private static PrisonerModel prisoner(int id, LocalDate admitted) {
+        return new PrisonerModel(id, "Prisoner " + id, 30, "Male", "Kathmandu", "Theft", "d",
+                admitted, 12, "Central Jail, Kathmandu", "F" + id, null);
+    }
+
+    private static DateIndex admissions(PrisonerModel... prisoners) {
+        DateIndex index = new DateIndex("admissionDate");
+        for (PrisonerModel p : prisoners) {
+            index.add(p.getAdmissionDate(), p);
+        }
+        return index;
+    }
+
+    private static int[] ids(LinkedList<PrisonerModel> prisoners) {
+        int[] result = new int[prisoners.size()];
+        int n = 0;
+        for (PrisonerModel p : prisoners) {
+            result[n++] = p.getPrisonerId();
+        }
+        return result;
+    }
+
+    @Test
+    public void betweenIsInclusiveAndInDateOrder() {
+        DateIndex index = admissions(
+            prisoner(101, LocalDate.of(2024, 3, 1)),
+            prisoner(102, LocalDate.of(2023, 12, 31)),
+            prisoner(103, LocalDate.of(2024, 1, 1)),
+            prisoner(104, LocalDate.of(2024, 2, 29)),
+            prisoner(105, LocalDate.of(2024, 1, 1)));
+
+        assertArrayEquals(new int[] {103, 105, 104}, ids(index.between(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29))));
+        assertArrayEquals(new int[] {102, 103, 105, 104, 101},
+            ids(index.between(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1))));
+        assertArrayEquals(new int[] {103, 105}, ids(index.between(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1))));
+        assertTrue(index.between(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 2, 28)).isEmpty());
+        assertTrue(index.between(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1)).isEmpty());
+    }
+
+    @Test
+    public void countBetweenMatchesBetween() {
+        DateIndex index = new DateIndex("admissionDate");
+        LocalDate start = LocalDate.of(1968, 6, 1);   // before the epoch: negative epoch days
+        for (int i = 0; i < 400; i++) {
+            PrisonerModel p = prisoner(1000 + i, start.plusDays(i * 37L % 1000));
+            index.add(p.getAdmissionDate(), p);
+        }
+        assertEquals(400, index.size());
+        LocalDate[][] ranges = {
+            {start, start.plusDays(999)},
+            {LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1)},
+            {start.plusDays(100), start.plusDays(100)},
+            {start.minusDays(10), start.minusDays(1)},
+            {start.plusDays(500), start.plusDays(100)}
+        };
+        for (LocalDate[] r : ranges) {
+            assertEquals(r[0] + ".." + r[1], index.between(r[0], r[1]).size(), index.countBetween(r[0], r[1]));
+        }
+    }
+
+    @Test
+    public void removeTakesOnlyThatPrisonerOffTheDay() {
+        LocalDate day = LocalDate.of(2024, 5, 10);
+        PrisonerModel first = prisoner(101, day);
+        PrisonerModel second = prisoner(102, day);
+        DateIndex index = admissions(first, second);
+
+        index.remove(day, first);
+        assertArrayEquals(new int[] {102}, ids(index.between(day, day)));
+        assertEquals(1, index.size());
+
+        index.remove(day.plusDays(1), second);   // wrong day - nothing removed
+        assertEquals(1, index.size());
+
+        index.remove(day, second);
+        assertEquals(0, index.size());
+        assertNull(index.firstOnOrAfter(day));
+    }
+
+    @Test
+    public void nullDatesAreNotIndexed() {
+        DateIndex index = new DateIndex("releaseDate");
+        PrisonerModel p = prisoner(101, LocalDate.of(2024, 1, 1));
+        index.add(null, p);
+        index.remove(null, p);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void firstOnOrAfterFindsTheNextIndexedDay() {
+        DateIndex index = admissions(
+            prisoner(101, LocalDate.of(2024, 1, 10)),
+            prisoner(102, LocalDate.of(2024, 3, 5)));
+        assertEquals(LocalDate.of(2024, 1, 10), index.firstOnOrAfter(LocalDate.of(2023, 1, 1)));
+        assertEquals(LocalDate.of(2024, 1, 10), index.firstOnOrAfter(LocalDate.of(2024, 1, 10)));
+        assertEquals(LocalDate.of(2024, 3, 5), index.firstOnOrAfter(LocalDate.of(2024, 1, 11)));
+        assertNull(index.firstOnOrAfter(LocalDate.of(2024, 3, 6)));
+    }
+}
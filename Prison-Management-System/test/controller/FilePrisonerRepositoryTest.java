@@ -0,0 +1,75 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import model.PrisonerModel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * FilePrisonerRepositoryTest - Snapshot plus log tail on load
+ *
+ * @author Anjal Bhattarai
+ */
+public class FilePrisonerRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void checkpointPlusLogTailIsReloaded() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        FilePrisonerRepository repository = new FilePrisonerRepository(dir);
+        assertNull(repository.load());
+        repository.saveAll(state(prisoner(101, "Ram Thapa")));
+        repository.prisonerSaved(prisoner(102, "Sita Rai"));
+        repository.close();
+
+        FilePrisonerRepository reopened = new FilePrisonerRepository(dir);
+        RepositoryState state = reopened.load();
+        reopened.close();
+        assertEquals(2, state.getPrisoners().size());
+        assertEquals("Sita Rai", state.getPrisoners().get(1).getName());
+    }
+
+    @Test
+    public void missingSnapshotAfterACheckpointIsRefused() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        FilePrisonerRepository repository = new FilePrisonerRepository(dir);
+        repository.load();
+        repository.saveAll(state(prisoner(101, "Ram Thapa")));
+        repository.prisonerSaved(prisoner(102, "Sita Rai"));
+        repository.close();
+        Files.delete(dir.resolve("prisoners.snap"));
+
+        FilePrisonerRepository reopened = new FilePrisonerRepository(dir);
+        try {
+            reopened.load();
+            fail("started from the log tail alone");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("prisoners.snap is missing"));
+        }
+        // The log was closed on the way out (an open handle blocks this on Windows)
+        Files.delete(dir.resolve("prisoners.wal"));
+    }
+
+    private static RepositoryState state(PrisonerModel... prisoners) {
+        return new RepositoryState(Arrays.asList(prisoners), Collections.emptyList(),
+                                   Collections.emptyList(), 200);
+    }
+
+    private static PrisonerModel prisoner(int id, String name) {
+        return new PrisonerModel(id, name, 30, "Male", "Kathmandu", "Theft", "Stole a bike",
+            LocalDate.of(2020, 7, 1), 24, "Central Jail, Kathmandu", "F" + id, null);
+    }
+}
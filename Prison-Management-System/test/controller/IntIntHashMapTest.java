@@ -0,0 +1,116 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * IntIntHashMapTest - Probing and backward-shift deletion
+ *
+ * @author Anjal Bhattarai
+ */
+public class IntIntHashMapTest {
+
+    private static final int MISSING = -1;
+    private static final int TABLE_MASK = 127;   // table size for expectedSize 64
+
+    @Test
+    public void removeFromTheMiddleOfAProbeRunKeepsTheRestReachable() {
+        IntIntHashMap map = new IntIntHashMap(MISSING, 64);
+        List<Integer> run = keysForSlot(5, 4);
+        int neighbour = keysForSlot(6, 1).get(0);   // probes past the run into slot 9
+        for (int key : run) {
+            map.put(key, key * 10);
+        }
+        map.put(neighbour, 7);
+
+        assertEquals(run.get(1) * 10, map.remove(run.get(1)));
+        assertEquals(MISSING, map.get(run.get(1)));
+        for (int key : new int[] {run.get(0), run.get(2), run.get(3)}) {
+            assertEquals(key * 10, map.get(key));
+        }
+        assertEquals(7, map.get(neighbour));
+
+        assertEquals(run.get(0) * 10, map.remove(run.get(0)));
+        assertEquals(run.get(3) * 10, map.get(run.get(3)));
+        assertEquals(7, map.get(neighbour));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void runsThatWrapAroundTheTableEnd() {
+        IntIntHashMap map = new IntIntHashMap(MISSING, 64);
+        List<Integer> run = keysForSlot(TABLE_MASK, 3);   // slots 127, 0, 1
+        int home0 = keysForSlot(0, 1).get(0);           // displaced to slot 2
+        for (int key : run) {
+            map.put(key, 1);
+        }
+        map.put(home0, 2);
+
+        map.remove(run.get(0));
+        assertEquals(1, map.get(run.get(1)));
+        assertEquals(1, map.get(run.get(2)));
+        assertEquals(2, map.get(home0));
+        map.remove(run.get(1));
+        map.remove(run.get(2));
+        assertEquals(2, map.get(home0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void zeroKeyIsStoredOutsideTheTable() {
+        IntIntHashMap map = new IntIntHashMap(MISSING);
+        assertFalse(map.containsKey(0));
+        assertEquals(MISSING, map.put(0, 42));
+        assertTrue(map.containsKey(0));
+        assertEquals(42, map.get(0));
+        assertEquals(42, map.remove(0));
+        assertEquals(MISSING, map.get(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void matchesHashMapUnderRandomChurn() {
+        Random random = new Random(42);
+        IntIntHashMap map = new IntIntHashMap(MISSING);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 200_000; step++) {
+            int key = random.nextInt(2000) - 100;   // small key space: long runs, many deletes
+            int op = random.nextInt(3);
+            if (op == 0) {
+                Integer previous = expected.remove(key);
+                assertEquals(previous == null ? MISSING : previous, map.remove(key));
+            } else {
+                int value = random.nextInt(1_000_000);
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? MISSING : previous, map.put(key, value));
+            }
+            if (step % 10_000 == 0) {
+                assertEquals(expected.size(), map.size());
+                for (int k = -100; k < 1900; k++) {
+                    Integer v = expected.get(k);
+                    assertEquals(v == null ? MISSING : v, map.get(k));
+                }
+            }
+        }
+        assertEquals(expected.size(), map.keys().length);
+    }
+
+    // Positive keys whose home slot is the given one
+    private static List<Integer> keysForSlot(int slot, int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 1; keys.size() < count; key++) {
+            if ((IntIntHashMap.mix(key) & TABLE_MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,148 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import model.PrisonerModel;
+import model.VisitRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * JdbcPrisonerRepositoryTest - Load, change and reload an H2 file database
+ *
+ * @author Anjal Bhattarai
+ */
+public class JdbcPrisonerRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String url;
+
+    @Before
+    public void setUp() {
+        url = "jdbc:h2:file:" + folder.getRoot().toPath().resolve("prison");
+    }
+
+    @Test
+    public void changesSurviveARestart() throws IOException {
+        try (JdbcPrisonerRepository repository = open()) {
+            assertNull("fresh database", repository.load());
+            repository.saveAll(new RepositoryState(
+                Arrays.asList(prisoner(101, "Ram"), prisoner(102, "Shyam")),
+                new ArrayList<>(), new ArrayList<>(), 103));
+
+            repository.prisonerSaved(prisoner(103, "सीता Sharma"));
+            PrisonerModel edited = prisoner(101, "Ram Bahadur");
+            edited.setHealthStatus("Critical");
+            repository.prisonerSaved(edited);
+            repository.prisonerStatusChanged(102, "Parole");
+            repository.prisonerDeleted(102);
+            repository.prisonerDeleted(103);
+            repository.trashRestored(103);
+            repository.visitRequestAdded(new VisitRequest(1, 101, "Ram Bahadur", "Gita", "Spouse",
+                LocalDate.of(2030, 1, 1), "Talk", "Pending", LocalDateTime.of(2029, 12, 1, 9, 0), null));
+            repository.visitRequestStatusChanged(1, "Approved", "Bring ID");
+        }
+
+        try (JdbcPrisonerRepository repository = open()) {
+            RepositoryState state = repository.load();
+            assertNotNull(state);
+            assertEquals(2, state.getPrisoners().size());
+            PrisonerModel first = state.getPrisoners().get(0);
+            assertEquals("Ram Bahadur", first.getName());
+            assertEquals("Critical", first.getHealthStatus());
+            assertEquals(LocalDate.of(1968, 4, 1), first.getAdmissionDate());
+            assertEquals("सीता Sharma", state.getPrisoners().get(1).getName());   // restored: back at the end
+
+            assertEquals(1, state.getTrash().size());
+            assertEquals(102, state.getTrash().get(0).getPrisonerId());
+            assertEquals("Parole", state.getTrash().get(0).getStatus());
+
+            assertEquals("Approved", state.getVisitRequests().get(0).getStatus());
+            assertEquals("Bring ID", state.getVisitRequests().get(0).getAdminNotes());
+            assertEquals(104, state.getNextPrisonerId());
+
+            repository.trashEmptied();
+        }
+
+        try (JdbcPrisonerRepository repository = open()) {
+            RepositoryState state = repository.load();
+            assertTrue(state.getTrash().isEmpty());
+            assertEquals(104, state.getNextPrisonerId());   // purged IDs are not reused
+        }
+    }
+
+    @Test
+    public void failedSaveLeavesNothingBehind() throws IOException {
+        try (JdbcPrisonerRepository repository = open()) {
+            repository.load();
+            repository.saveAll(new RepositoryState(Arrays.asList(prisoner(101, "Ram")),
+                new ArrayList<>(), new ArrayList<>(), 102));
+            StringBuilder tooLong = new StringBuilder();
+            for (int i = 0; i < 101; i++) {
+                tooLong.append('x');
+            }
+            try {
+                repository.prisonerSaved(prisoner(150, tooLong.toString()));
+                fail("name longer than the column accepted");
+            } catch (IOException expected) {
+            }
+            // Auto-commit is back on: later single-statement changes still stick
+            repository.prisonerStatusChanged(101, "Medical");
+        }
+        try (JdbcPrisonerRepository repository = open()) {
+            RepositoryState state = repository.load();
+            assertEquals(1, state.getPrisoners().size());
+            assertEquals("Medical", state.getPrisoners().get(0).getStatus());
+            assertEquals(102, state.getNextPrisonerId());
+        }
+    }
+
+    @Test
+    public void controllerRestartsFromTheDatabase() throws IOException {
+        PrisonController first = new PrisonController(open());
+        int seeded = first.getAllPrisoners().size();
+        assertTrue(first.addPrisoner("Hari Thapa", 41, "Male", "Pokhara", "Theft", "Bike",
+            LocalDate.of(1969, 6, 1), 12, "Pokhara Jail, Kaski", "FH1", null, "Active"));
+        int id = first.getNextAvailableId() - 1;
+        assertTrue(first.updatePrisonerStatus(id, "Parole"));
+        first.getRepository().close();
+
+        PrisonController second = new PrisonController(open());
+        assertEquals(seeded + 1, second.getAllPrisoners().size());
+        assertEquals("Parole", second.getPrisonerById(id).getStatus());
+        assertEquals(LocalDate.of(1969, 6, 1), second.getPrisonerById(id).getAdmissionDate());
+        assertEquals(id + 1, second.getNextAvailableId());
+        second.getRepository().close();
+    }
+
+    @Test
+    public void unreadableDatabaseStopsTheController() {
+        try {
+            new PrisonController(new JdbcPrisonerRepository("jdbc:nosuchdriver:prison", "", ""));
+            fail("controller started without its data");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private JdbcPrisonerRepository open() {
+        return new JdbcPrisonerRepository(url, "sa", "");
+    }
+
+    private static PrisonerModel prisoner(int id, String name) {
+        return new PrisonerModel(id, name, 30, "Male", "Kathmandu", "Theft", "Stole a bike",
+            LocalDate.of(1968, 4, 1), 24, "Central Jail, Kathmandu", "F" + id, null);
+    }
+}
@@ -0,0 +1,201 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import model.PrisonerModel;
+import model.VisitRequest;
+import org.junit.Test;
+
+/**
+ * ModelCodecTest - Round trips of the schema 2 binary encoding
+ *
+ * @author Anjal Bhattarai
+ */
+public class ModelCodecTest {
+
+    @Test
+    public void datesBeforeEpochRoundTrip() throws IOException {
+        LocalDate[] dates = {
+            LocalDate.of(1970, 1, 1), LocalDate.of(1969, 12, 31), LocalDate.of(1900, 1, 1),
+            LocalDate.of(1, 1, 1), LocalDate.of(2081, 4, 14), null
+        };
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        for (LocalDate date : dates) {
+            out.writeDate(date);
+        }
+        ModelCodec.Reader in = new ModelCodec.Reader(out.toByteArray());
+        for (LocalDate date : dates) {
+            assertEquals(date, in.readDate());
+        }
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void zigzagKeepsSmallNegativeDaysShort() {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        out.writeDate(LocalDate.of(1969, 12, 31));   // epoch day -1
+        assertEquals(1, out.size());
+    }
+
+    @Test
+    public void dateTimesRoundTrip() throws IOException {
+        LocalDateTime[] values = {
+            LocalDateTime.of(1965, 3, 2, 23, 59, 59, 999_999_999), LocalDateTime.of(2024, 1, 1, 0, 0), null
+        };
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        for (LocalDateTime value : values) {
+            out.writeDateTime(value);
+        }
+        ModelCodec.Reader in = new ModelCodec.Reader(out.toByteArray());
+        for (LocalDateTime value : values) {
+            assertEquals(value, in.readDateTime());
+        }
+    }
+
+    @Test
+    public void nonAsciiStringsRoundTrip() throws IOException {
+        String[] strings = { "राम बहादुर", "Zoë O'Brien", "日本語", "emoji 😀 pair", "", null };
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        for (String s : strings) {
+            out.writeString(s);
+        }
+        ModelCodec.Reader in = new ModelCodec.Reader(out.toByteArray());
+        for (String s : strings) {
+            assertEquals(s, in.readString());
+        }
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void prisonerRoundTrip() throws IOException {
+        PrisonerModel p = new PrisonerModel(101, "सीता Sharma", 34, "Female", "Lalitpur-3",
+            "Fraud", "Forged land papers", LocalDate.of(1968, 5, 20), 30,
+            "Central Jail, Kathmandu", "FAM101", null, "Medical");
+        p.setHealthStatus("Critical");
+        p.setReleaseDate(LocalDate.of(1971, 1, 1));   // set by hand, not admission + sentence
+
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writePrisoner(out, p);
+        PrisonerModel back = ModelCodec.STATELESS.readPrisoner(new ModelCodec.Reader(out.toByteArray()));
+
+        assertEquals(p.getPrisonerId(), back.getPrisonerId());
+        assertEquals(p.getName(), back.getName());
+        assertEquals(p.getAge(), back.getAge());
+        assertEquals(p.getGender(), back.getGender());
+        assertEquals(p.getAddress(), back.getAddress());
+        assertEquals(p.getCrimeType(), back.getCrimeType());
+        assertEquals(p.getCrimeDescription(), back.getCrimeDescription());
+        assertEquals(p.getAdmissionDate(), back.getAdmissionDate());
+        assertEquals(p.getSentenceDuration(), back.getSentenceDuration());
+        assertEquals(p.getReleaseDate(), back.getReleaseDate());
+        assertEquals(p.getStatus(), back.getStatus());
+        assertEquals(p.getPrisonLocation(), back.getPrisonLocation());
+        assertEquals(p.getHealthStatus(), back.getHealthStatus());
+        assertEquals(p.getFamilyCode(), back.getFamilyCode());
+        assertNull(back.getPhotoPath());
+    }
+
+    @Test
+    public void visitRoundTrip() throws IOException {
+        VisitRequest r = new VisitRequest(7, 101, "Ram", "Gita Thapa", "Grandparent",
+            LocalDate.of(2030, 2, 1), "Family visit", "Pending", LocalDateTime.of(2029, 12, 31, 8, 30), null);
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writeVisit(out, r);
+        VisitRequest back = ModelCodec.STATELESS.readVisit(new ModelCodec.Reader(out.toByteArray()));
+        assertEquals(r.getRequestId(), back.getRequestId());
+        assertEquals("Grandparent", back.getRelationship());   // not in the fixed table: inline
+        assertEquals(r.getPreferredDate(), back.getPreferredDate());
+        assertEquals(r.getRequestDateTime(), back.getRequestDateTime());
+        assertNull(back.getAdminNotes());
+    }
+
+    @Test
+    public void streamCodecLearnsInlineCategories() throws IOException {
+        ModelCodec writer = ModelCodec.newStream();
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        writer.writeCategory(out, ModelCodec.CRIME_TYPE, "Poaching");
+        int first = out.size();
+        writer.writeCategory(out, ModelCodec.CRIME_TYPE, "Poaching");
+        int second = out.size() - first;
+        writer.writeCategory(out, ModelCodec.PRISON_LOCATION, "Poaching");   // tables are per field
+        writer.writeCategory(out, ModelCodec.CRIME_TYPE, "Theft");
+        writer.writeCategory(out, ModelCodec.CRIME_TYPE, null);
+
+        assertTrue("inline value costs its bytes", first > "Poaching".length());
+        assertEquals("learned value costs one byte", 1, second);
+
+        ModelCodec reader = ModelCodec.newStream();
+        ModelCodec.Reader in = new ModelCodec.Reader(out.toByteArray());
+        assertEquals("Poaching", reader.readCategory(in, ModelCodec.CRIME_TYPE));
+        assertEquals("Poaching", reader.readCategory(in, ModelCodec.CRIME_TYPE));
+        assertEquals("Poaching", reader.readCategory(in, ModelCodec.PRISON_LOCATION));
+        assertEquals("Theft", reader.readCategory(in, ModelCodec.CRIME_TYPE));
+        assertNull(reader.readCategory(in, ModelCodec.CRIME_TYPE));
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void statelessCodecNeverLearns() throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.CRIME_TYPE, "Poaching");
+        int first = out.size();
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.CRIME_TYPE, "Poaching");
+        assertEquals(first, out.size() - first);
+
+        // A learned code cannot be read without the records that taught it
+        ModelCodec writer = ModelCodec.newStream();
+        ModelCodec.Writer learned = new ModelCodec.Writer();
+        writer.writeCategory(learned, ModelCodec.CRIME_TYPE, "Poaching");
+        learned.reset();
+        writer.writeCategory(learned, ModelCodec.CRIME_TYPE, "Poaching");
+        try {
+            ModelCodec.newStream().readCategory(new ModelCodec.Reader(learned.toByteArray()), ModelCodec.CRIME_TYPE);
+            fail("unknown code accepted");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void onlyClosedCategoriesHaveFixedCodes() throws IOException {
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.GENDER, "Female");
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.PRISONER_STATUS, "Parole");
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.VISIT_STATUS, "Approved");
+        assertEquals("fixed values cost one byte each", 3, out.size());
+
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.CRIME_TYPE, "Theft");
+        ModelCodec.STATELESS.writeCategory(out, ModelCodec.PRISON_LOCATION, "Pokhara Jail, Kaski");
+        assertTrue("open values go inline", out.size() > 3 + "Theft".length() + "Pokhara Jail, Kaski".length());
+
+        ModelCodec.Reader in = new ModelCodec.Reader(out.toByteArray());
+        assertEquals("Female", ModelCodec.STATELESS.readCategory(in, ModelCodec.GENDER));
+        assertEquals("Parole", ModelCodec.STATELESS.readCategory(in, ModelCodec.PRISONER_STATUS));
+        assertEquals("Approved", ModelCodec.STATELESS.readCategory(in, ModelCodec.VISIT_STATUS));
+        assertEquals("Theft", ModelCodec.STATELESS.readCategory(in, ModelCodec.CRIME_TYPE));
+        assertEquals("Pokhara Jail, Kaski", ModelCodec.STATELESS.readCategory(in, ModelCodec.PRISON_LOCATION));
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void truncatedRecordThrows() throws IOException {
+        PrisonerModel p = new PrisonerModel(5, "Hari", 40, "Male", "Pokhara", "Theft", "Bike",
+            LocalDate.of(2020, 1, 1), 12, "Pokhara Jail, Kaski", "F5", null);
+        ModelCodec.Writer out = new ModelCodec.Writer();
+        ModelCodec.STATELESS.writePrisoner(out, p);
+        byte[] full = out.toByteArray();
+        for (int cut = 0; cut < full.length; cut++) {
+            try {
+                ModelCodec.STATELESS.readPrisoner(new ModelCodec.Reader(full, 0, cut));
+                fail("decoded a record cut at " + cut + " of " + full.length + " bytes");
+            } catch (EOFException expected) {
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * ObjectIntHashMapTest - String keys, conditional remove and growth
+ *
+ * @author Anjal Bhattarai
+ */
+public class ObjectIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    public void absentKeysReadAsMissingValue() {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>(MISSING);
+        assertEquals(MISSING, map.get("ram thapa"));
+        assertEquals(MISSING, map.put("ram thapa", 101));
+        assertEquals(101, map.put("ram thapa", 102));
+        assertEquals(102, map.remove("ram thapa"));
+        assertEquals(MISSING, map.remove("ram thapa"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void conditionalRemoveOnlyTakesTheMatchingOwner() {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>(MISSING);
+        map.put("sita shrestha", 105);
+        assertFalse(map.remove("sita shrestha", 999));
+        assertEquals(105, map.get("sita shrestha"));
+        assertTrue(map.remove("sita shrestha", 105));
+        assertFalse(map.containsKey("sita shrestha"));
+    }
+
+    @Test
+    public void matchesHashMapThroughGrowthAndRemoval() {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>(MISSING, 4);
+        HashMap<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "name" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? MISSING : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? MISSING : previous, map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.VisitRequest;
+import org.junit.Test;
+
+/**
+ * PendingVisitQueueTest - Due order, removal from the middle and nextDue(k)
+ *
+ * @author Anjal Bhattarai
+ */
+public class PendingVisitQueueTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 5, 20, 9, 0);
+
+    private static VisitRequest request(int id, int daysAhead, int minutesAfter) {
+        return new VisitRequest(id, 100 + id, "Prisoner " + id, "Visitor " + id, "Parent",
+                TODAY.plusDays(daysAhead), "Family visit", "Pending", MORNING.plusMinutes(minutesAfter), null);
+    }
+
+    @Test
+    public void earliestDateThenEarliestRequestComesFirst() {
+        PendingVisitQueue queue = new PendingVisitQueue();
+        VisitRequest later = request(1, 5, 0);
+        VisitRequest sameDayRequestedLate = request(2, 2, 30);
+        VisitRequest sameDayRequestedEarly = request(3, 2, 10);
+        queue.insert(later);
+        queue.insert(sameDayRequestedLate);
+        queue.insert(sameDayRequestedEarly);
+
+        assertSame(sameDayRequestedEarly, queue.peek());
+        assertIds(queue.nextDue(3), 3, 2, 1);
+        assertEquals(3, queue.size());   // nextDue leaves the queue alone
+    }
+
+    @Test
+    public void duplicateInsertIsIgnored() {
+        PendingVisitQueue queue = new PendingVisitQueue();
+        queue.insert(request(1, 1, 0));
+        queue.insert(request(1, 0, 0));
+        assertEquals(1, queue.size());
+        assertEquals(TODAY.plusDays(1), queue.peek().getPreferredDate());
+    }
+
+    @Test
+    public void removeFromTheMiddleKeepsHeapOrder() {
+        PendingVisitQueue queue = new PendingVisitQueue();
+        for (int id = 1; id <= 40; id++) {
+            queue.insert(request(id, (id * 7) % 13, id));
+        }
+        assertTrue(queue.remove(20));
+        assertFalse(queue.remove(20));
+        assertFalse(queue.contains(20));
+        assertFalse(queue.remove(999));
+        assertEquals(39, queue.size());
+
+        VisitRequest previous = null;
+        while (!queue.isEmpty()) {
+            VisitRequest next = queue.peek();
+            if (previous != null) {
+                assertTrue(PendingVisitQueue.DUE_ORDER.compare(previous, next) <= 0);
+            }
+            assertTrue(queue.remove(next.getRequestId()));
+            previous = next;
+        }
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void nextDueHandlesSmallAndOversizedK() {
+        PendingVisitQueue queue = new PendingVisitQueue();
+        assertTrue(queue.nextDue(5).isEmpty());
+        queue.insert(request(1, 3, 0));
+        queue.insert(request(2, 1, 0));
+        assertTrue(queue.nextDue(0).isEmpty());
+        assertTrue(queue.nextDue(-1).isEmpty());
+        assertIds(queue.nextDue(1), 2);
+        assertIds(queue.nextDue(2), 2, 1);
+        assertIds(queue.nextDue(100), 2, 1);
+    }
+
+    @Test
+    public void nextDueMatchesASortedCopy() {
+        Random random = new Random(3);
+        PendingVisitQueue queue = new PendingVisitQueue();
+        List<VisitRequest> live = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            VisitRequest r = request(id, random.nextInt(30), random.nextInt(600));
+            queue.insert(r);
+            live.add(r);
+            if (random.nextInt(3) == 0) {
+                VisitRequest gone = live.remove(random.nextInt(live.size()));
+                assertTrue(queue.remove(gone.getRequestId()));
+            }
+        }
+        live.sort(PendingVisitQueue.DUE_ORDER);
+        assertEquals(live.size(), queue.size());
+        for (int k : new int[] {1, 2, 7, 50, live.size() - 1, live.size(), live.size() + 10}) {
+            List<VisitRequest> due = queue.nextDue(k);
+            assertEquals(Math.min(k, live.size()), due.size());
+            for (int i = 0; i < due.size(); i++) {
+                assertSame("k=" + k + " position " + i, live.get(i), due.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheQueue() {
+        PendingVisitQueue queue = new PendingVisitQueue();
+        queue.insert(request(1, 1, 0));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(1));
+        queue.insert(request(1, 1, 0));
+        assertEquals(1, queue.size());
+    }
+
+    private static void assertIds(List<VisitRequest> requests, int... ids) {
+        assertEquals(ids.length, requests.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], requests.get(i).getRequestId());
+        }
+    }
+}
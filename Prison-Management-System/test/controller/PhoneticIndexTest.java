@@ -0,0 +1,69 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * PhoneticIndexTest - Phonetic keys and "sounds like" lookups
+ *
+ * @author Anjal Bhattarai
+ */
+public class PhoneticIndexTest {
+
+    @Test
+    public void spellingVariantsShareAKey() {
+        assertEquals("SRST", PhoneticIndex.keyOf("Shrestha"));
+        assertEquals("SRST", PhoneticIndex.keyOf("Shresta"));
+        assertEquals("SRST", PhoneticIndex.keyOf("Sresta"));
+        assertEquals(PhoneticIndex.keyOf("Sita"), PhoneticIndex.keyOf("Seeta"));
+        assertEquals(PhoneticIndex.keyOf("Bhattarai"), PhoneticIndex.keyOf("Battarai"));
+        assertEquals(PhoneticIndex.keyOf("Vishnu"), PhoneticIndex.keyOf("Bisnu"));
+    }
+
+    @Test
+    public void leadingVowelIsKeptAsA() {
+        assertEquals("ANJL", PhoneticIndex.keyOf("Anjal"));
+        assertEquals(PhoneticIndex.keyOf("Anjal"), PhoneticIndex.keyOf("Enjal"));
+    }
+
+    @Test
+    public void wordsWithoutLettersHaveNoKey() {
+        assertEquals(0, PhoneticIndex.keysOf("123 ---").length);
+    }
+
+    @Test
+    public void everyWordOfTheQueryMustSoundAlike() {
+        PhoneticIndex index = new PhoneticIndex();
+        index.add(7, "Ram Bahadur Shrestha");
+        index.add(3, "Sita Shrestha");
+        index.add(5, "Ram Thapa");
+
+        assertArrayEquals(ids(3, 7), index.lookup("Sresta"));
+        assertArrayEquals(ids(7), index.lookup("Raam Shresta"));
+        assertArrayEquals(ids(5, 7), index.lookup("raam"));
+        assertEquals(0, index.lookup("Gurung").length);
+        assertEquals(0, index.lookup("").length);
+    }
+
+    @Test
+    public void removeDropsEmptyKeys() {
+        PhoneticIndex index = new PhoneticIndex();
+        index.add(1, "Hari Thapa");
+        index.add(2, "Gita Thapa");
+        int keys = index.keyCount();
+
+        index.remove(1, "Hari Thapa");
+        assertArrayEquals(ids(2), index.lookup("Thapa"));
+        assertEquals(keys - 1, index.keyCount());
+
+        index.remove(2, "Gita Thapa");
+        assertEquals(0, index.keyCount());
+        assertEquals(0, index.lookup("Thapa").length);
+    }
+
+    private static int[] ids(int... values) {
+        return values;
+    }
+}
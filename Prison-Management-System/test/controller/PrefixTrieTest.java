@@ -0,0 +1,149 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+
+/**
+ * PrefixTrieTest - Edge splits and merges, weights and top-k order
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrefixTrieTest {
+
+    @Test
+    public void heaviestTermsComeFirstThenAlphabetical() {
+        PrefixTrie trie = new PrefixTrie();
+        add(trie, "Thapa", 3);
+        add(trie, "Thakuri", 3);
+        add(trie, "Tharu", 5);
+        add(trie, "Tamang", 4);
+        assertEquals(Arrays.asList("Tharu", "Thakuri", "Thapa"), trie.complete("tha", 10));
+        assertEquals(Arrays.asList("Tharu", "Tamang"), trie.complete("T", 2));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    public void prefixMayEndInsideAnEdge() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Shrestha");
+        assertEquals(Arrays.asList("Shrestha"), trie.complete("shr", 5));
+        assertEquals(Arrays.asList("Shrestha"), trie.complete("shrestha", 5));
+        assertTrue(trie.complete("shrx", 5).isEmpty());
+        assertTrue(trie.complete("shresthas", 5).isEmpty());
+        assertTrue(trie.complete("", 5).isEmpty());
+        assertTrue(trie.complete("s", 0).isEmpty());
+    }
+
+    @Test
+    public void termThatIsAPrefixOfAnotherSplitsTheEdge() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Ramesh");
+        trie.add("Ram");
+        trie.add("Rama");
+        assertEquals(Arrays.asList("Ram", "Rama", "Ramesh"), trie.complete("ram", 5));
+        assertEquals(Arrays.asList("Rama"), trie.complete("rama", 5));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void firstSpellingIsKeptForDisplay() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("  Kathmandu ");
+        trie.add("KATHMANDU");
+        assertEquals(Arrays.asList("Kathmandu"), trie.complete("KATH", 5));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void removeLowersWeightAndMergesEmptiedNodes() {
+        PrefixTrie trie = new PrefixTrie();
+        add(trie, "Ram", 2);
+        trie.add("Rama");
+        trie.add("Ramesh");
+
+        trie.remove("Ram");
+        assertEquals(Arrays.asList("Ram", "Rama", "Ramesh"), trie.complete("ra", 5));   // still weight 1
+        trie.remove("Ram");
+        assertEquals(Arrays.asList("Rama", "Ramesh"), trie.complete("ra", 5));
+        assertEquals(2, trie.size());
+
+        trie.remove("Rama");   // "ram" → "esh" left as one pass-through chain
+        assertEquals(Arrays.asList("Ramesh"), trie.complete("r", 5));
+        assertEquals(Arrays.asList("Ramesh"), trie.complete("rame", 5));
+        trie.add("Rama");
+        assertEquals(Arrays.asList("Rama", "Ramesh"), trie.complete("ram", 5));
+
+        trie.remove("Raman");   // unknown term - no change
+        trie.remove("Ra");
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    public void topKMatchesASortedScan() {
+        Random random = new Random(11);
+        PrefixTrie trie = new PrefixTrie();
+        TreeMap<String, Integer> weights = new TreeMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String term = randomTerm(random);
+            if (random.nextInt(4) == 0 && weights.containsKey(term)) {
+                trie.remove(term);
+                int w = weights.get(term) - 1;
+                if (w == 0) {
+                    weights.remove(term);
+                } else {
+                    weights.put(term, w);
+                }
+            } else {
+                trie.add(term);
+                weights.merge(term, 1, Integer::sum);
+            }
+        }
+        assertEquals(weights.size(), trie.size());
+
+        String[] prefixes = {"a", "b", "ab", "ba", "abc", "cab", "aaaa", "c"};
+        for (String prefix : prefixes) {
+            for (int k : new int[] {1, 3, 10, 1000}) {
+                assertEquals(prefix + " top " + k, expected(weights, prefix, k), trie.complete(prefix, k));
+            }
+        }
+    }
+
+    private static List<String> expected(TreeMap<String, Integer> weights, String prefix, int k) {
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            if (e.getKey().startsWith(prefix)) {
+                matches.add(e);
+            }
+        }
+        // TreeMap order is alphabetical; a stable sort by weight keeps it for ties
+        Collections.sort(matches, (a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < matches.size() && i < k; i++) {
+            result.add(matches.get(i).getKey());
+        }
+        return result;
+    }
+
+    private static String randomTerm(Random random) {
+        char[] term = new char[1 + random.nextInt(5)];
+        for (int i = 0; i < term.length; i++) {
+            term[i] = "abc".charAt(random.nextInt(3));
+        }
+        return new String(term);
+    }
+
+    private static void add(PrefixTrie trie, String term, int times) {
+        for (int i = 0; i < times; i++) {
+            trie.add(term);
+        }
+    }
+}
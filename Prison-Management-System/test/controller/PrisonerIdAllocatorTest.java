@@ -0,0 +1,58 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * PrisonerIdAllocatorTest - High-water mark, blocks and restore
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonerIdAllocatorTest {
+
+    @Test
+    public void blocksAreContiguousAndNeverOverlap() {
+        PrisonerIdAllocator ids = new PrisonerIdAllocator(101);
+        assertEquals(101, ids.allocate());
+        assertEquals(102, ids.allocateBlock(50));
+        assertEquals(152, ids.allocate());
+        assertEquals(152, ids.getHighWaterMark());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyBlockIsRejected() {
+        new PrisonerIdAllocator(101).allocateBlock(0);
+    }
+
+    @Test
+    public void reserveThroughOnlyMovesForward() {
+        PrisonerIdAllocator ids = new PrisonerIdAllocator(101);
+        ids.reserveThrough(500);
+        ids.reserveThrough(120);   // e.g. restoring an old prisoner from the trash
+        assertEquals(501, ids.peekNextId());
+    }
+
+    @Test
+    public void concurrentCallersGetDistinctIds() throws InterruptedException {
+        PrisonerIdAllocator ids = new PrisonerIdAllocator(1);
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    seen.put(ids.allocate(), Boolean.TRUE);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(40_000, seen.size());
+        assertEquals(40_001, ids.peekNextId());
+    }
+}
@@ -0,0 +1,102 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import model.PrisonerModel;
+import org.junit.Test;
+
+/**
+ * PrisonerSnapshotTest - Readers keep a stable view while the controller writes
+ *
+ * @author Anjal Bhattarai
+ */
+public class PrisonerSnapshotTest {
+
+    @Test
+    public void appendIsInvisibleToEarlierSnapshots() {
+        PrisonerSnapshot first = PrisonerSnapshot.EMPTY.withAdded(prisoner(1, "Ram Thapa"));
+        PrisonerSnapshot second = first.withAdded(prisoner(2, "Sita Rai"));
+
+        // second shares first's array, but first only ever reads its own range
+        assertEquals(1, first.size());
+        int seen = 0;
+        for (PrisonerModel p : first) {
+            seen++;
+        }
+        assertEquals(1, seen);
+        assertEquals(2, second.size());
+        assertEquals(2, second.get(1).getPrisonerId());
+        assertTrue(second.getEpoch() > first.getEpoch());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void earlierSnapshotCannotReadPastItsSize() {
+        PrisonerSnapshot first = PrisonerSnapshot.EMPTY.withAdded(prisoner(1, "Ram Thapa"));
+        first.withAdded(prisoner(2, "Sita Rai"));
+        first.get(1);
+    }
+
+    @Test
+    public void updateLeavesTheOldSnapshotAndRecordUntouched() {
+        PrisonController controller = new PrisonController((Path) null);
+        PrisonerSnapshot before = controller.getAllPrisoners();
+        PrisonerModel original = controller.getPrisonerById(103);
+        int position = before.indexOf(original);
+
+        assertTrue(controller.updatePrisoner(103, "Suraj Karki", 21, "Male", "Dharan-12, Sunsari",
+                "Assault", "Minor physical assault", LocalDate.of(2024, 9, 5), 6,
+                "Biratnagar Jail, Morang", "FAM103", null, "Released"));
+
+        PrisonerSnapshot after = controller.getAllPrisoners();
+        PrisonerModel updated = controller.getPrisonerById(103);
+        assertNotSame(original, updated);
+        assertSame(original, before.get(position));
+        assertSame(updated, after.get(position));
+        assertEquals(before.size(), after.size());
+
+        // The record a reader already holds keeps its old values
+        assertEquals(20, original.getAge());
+        assertEquals("Active", original.getStatus());
+        // Details and status land in one replacement, health status carried over
+        assertEquals(21, updated.getAge());
+        assertEquals("Released", updated.getStatus());
+        assertEquals("Fair", updated.getHealthStatus());
+    }
+
+    @Test
+    public void failedUpdatePublishesNothing() {
+        PrisonController controller = new PrisonController((Path) null);
+        PrisonerSnapshot before = controller.getAllPrisoners();
+
+        // Name already used by prisoner 102
+        assertFalse(controller.updatePrisoner(103, "Rohan Tamang", 21, "Male", "Dharan-12, Sunsari",
+                "Assault", "d", LocalDate.of(2024, 9, 5), 6, "Biratnagar Jail, Morang", "FAM103", null, "Released"));
+
+        assertSame(before, controller.getAllPrisoners());
+        assertEquals("Active", controller.getPrisonerById(103).getStatus());
+    }
+
+    @Test
+    public void deleteCopiesAndKeepsOrder() {
+        PrisonerSnapshot snapshot = PrisonerSnapshot.EMPTY;
+        PrisonerModel middle = prisoner(2, "Sita Rai");
+        snapshot = snapshot.withAdded(prisoner(1, "Ram Thapa")).withAdded(middle).withAdded(prisoner(3, "Hari Gurung"));
+
+        PrisonerSnapshot without = snapshot.without(middle);
+        assertEquals(3, snapshot.size());
+        assertEquals(2, without.size());
+        assertEquals(1, without.get(0).getPrisonerId());
+        assertEquals(3, without.get(1).getPrisonerId());
+    }
+
+    private static PrisonerModel prisoner(int id, String name) {
+        return new PrisonerModel(id, name, 30, "Male", "Address", "Theft", "d",
+                LocalDate.of(2023, 1, 1), 12, "Central Jail, Kathmandu", "F" + id, null, "Active");
+    }
+}
@@ -0,0 +1,156 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import model.PrisonerModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * QueryPlannerTest - Index choice versus full scan, and the text query form
+ *
+ * @author Anjal Bhattarai
+ */
+public class QueryPlannerTest {
+
+    private static final String[] STATUSES = {"Active", "Released", "Transferred", "Active"};
+    private static final String[] CRIMES = {"Theft", "Fraud", "Assault", "Smuggling", "Robbery"};
+    private static final String[] LOCATIONS = {"Central Jail, Kathmandu", "Pokhara Jail, Kaski", "Nepalgunj Jail, Banke"};
+
+    private final List<PrisonerModel> all = new ArrayList<>();
+    private PrisonerIndex index;
+    private QueryPlanner planner;
+
+    @Before
+    public void setUp() {
+        index = new PrisonerIndex();
+        for (int i = 0; i < 300; i++) {
+            PrisonerModel p = new PrisonerModel(1000 + i, "Prisoner " + i + " Thapa", 18 + i % 50,
+                    i % 3 == 0 ? "Female" : "Male", "Address " + i, CRIMES[i % CRIMES.length], "d",
+                    LocalDate.of(2015, 1, 1).plusDays(i * 7L), 6 + i % 60, LOCATIONS[i % LOCATIONS.length],
+                    "F" + i, null, STATUSES[i % STATUSES.length]);
+            all.add(p);
+            index.add(p);
+        }
+        planner = new QueryPlanner(index);
+    }
+
+    @Test
+    public void idEqualityUsesThePrimaryKey() {
+        QueryResult result = planner.execute(PrisonerQuery.eq(PrisonerField.PRISONER_ID, 1042));
+        assertTrue(result.getPlan(), result.getPlan().startsWith("primary key lookup"));
+        assertEquals(1, result.getCandidatesChecked());
+        assertEquals(1042, result.getPrisoners().getFirst().getPrisonerId());
+    }
+
+    @Test
+    public void categoryEqualityUsesItsBitmap() {
+        PrisonerQuery query = PrisonerQuery.eq(PrisonerField.CRIME_TYPE, "Fraud");
+        QueryResult result = planner.execute(query);
+        assertTrue(result.getPlan(), result.getPlan().contains("bitmap"));
+        assertEquals(60, result.getCandidatesChecked());
+        assertSameAsScan(query, result);
+    }
+
+    @Test
+    public void unindexedFieldFallsBackToFullScan() {
+        PrisonerQuery query = PrisonerQuery.between(PrisonerField.AGE, 25, 30);
+        QueryResult result = planner.execute(query);
+        assertEquals("full scan", result.getPlan());
+        assertEquals(all.size(), result.getCandidatesChecked());
+        assertSameAsScan(query, result);
+    }
+
+    @Test
+    public void andPicksTheIndexedSideOverAScan() {
+        PrisonerQuery query = PrisonerQuery.and(
+                PrisonerQuery.between(PrisonerField.AGE, 25, 30),
+                PrisonerQuery.eq(PrisonerField.STATUS, "Released"),
+                PrisonerQuery.eq(PrisonerField.GENDER, "Female"));
+        QueryResult result = planner.execute(query);
+        assertTrue(result.getPlan(), result.getPlan().contains(" AND "));
+        assertTrue(result.getCandidatesChecked() < 75);
+        assertSameAsScan(query, result);
+    }
+
+    @Test
+    public void orWithAnUnindexedSideScans() {
+        PrisonerQuery query = PrisonerQuery.or(
+                PrisonerQuery.eq(PrisonerField.STATUS, "Released"),
+                PrisonerQuery.contains(PrisonerField.ADDRESS, "address 1"));
+        QueryResult result = planner.execute(query);
+        assertEquals("full scan", result.getPlan());
+        assertSameAsScan(query, result);
+    }
+
+    @Test
+    public void orOfIndexedSidesIsAUnion() {
+        PrisonerQuery query = PrisonerQuery.or(
+                PrisonerQuery.eq(PrisonerField.PRISONER_ID, 1001),
+                PrisonerQuery.between(PrisonerField.PRISONER_ID, 1100, 1109));
+        QueryResult result = planner.execute(query);
+        assertTrue(result.getPlan(), result.getPlan().startsWith("union of ["));
+        assertEquals(11, result.getCandidatesChecked());
+        assertSameAsScan(query, result);
+    }
+
+    @Test
+    public void parsedAndBindsTighterThanOr() {
+        PrisonerQuery query = PrisonerQuery.parse("crime type = Fraud and age = ..30 OR status = Transferred");
+        HashSet<Integer> expected = new HashSet<>();
+        for (PrisonerModel p : all) {
+            if ((p.getCrimeType().equals("Fraud") && p.getAge() <= 30) || p.getStatus().equals("Transferred")) {
+                expected.add(p.getPrisonerId());
+            }
+        }
+        assertEquals(expected, ids(planner.execute(query).getPrisoners()));
+    }
+
+    @Test
+    public void parsedValuesAreTypedAndMayBeQuoted() {
+        PrisonerQuery query = PrisonerQuery.parse(
+                "prison_location = \"Central Jail, Kathmandu\" and admission date = 2016-01-01..2016-12-31 and name ~ THAPA");
+        QueryResult result = planner.execute(query);
+        assertTrue(result.getCandidatesChecked() < all.size());
+        assertSameAsScan(query, result);
+        assertTrue(result.getPrisoners().size() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFieldIsRejected() {
+        PrisonerQuery.parse("height = 180");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void numberFieldRejectsText() {
+        PrisonerQuery.parse("age = old");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void danglingJoinIsRejected() {
+        PrisonerQuery.parse("status = Active and");
+    }
+
+    private void assertSameAsScan(PrisonerQuery query, QueryResult result) {
+        HashSet<Integer> expected = new HashSet<>();
+        for (PrisonerModel p : all) {
+            if (query.test(p)) {
+                expected.add(p.getPrisonerId());
+            }
+        }
+        assertEquals(expected, ids(result.getPrisoners()));
+    }
+
+    private static HashSet<Integer> ids(List<PrisonerModel> prisoners) {
+        HashSet<Integer> ids = new HashSet<>();
+        for (PrisonerModel p : prisoners) {
+            ids.add(p.getPrisonerId());
+        }
+        return ids;
+    }
+}
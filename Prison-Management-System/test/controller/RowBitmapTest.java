@@ -0,0 +1,176 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+
+/**
+ * RowBitmapTest - Container switches at 4096 rows and chunk edges at 65536
+ *
+ * @author Anjal Bhattarai
+ */
+public class RowBitmapTest {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int CHUNK = 65536;
+
+    @Test
+    public void sparseChunkBecomesBitsetAndBack() {
+        RowBitmap bitmap = new RowBitmap();
+        for (int row = 0; row < ARRAY_MAX; row++) {
+            bitmap.add(row * 2);
+        }
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+
+        bitmap.add(1);   // 4097th row - chunk turns into a bitset
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(2 * (ARRAY_MAX - 1)));
+        assertFalse(bitmap.contains(3));
+
+        bitmap.add(1);   // duplicate in bitset form
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+
+        bitmap.remove(1);   // back to 4096 - sorted array again
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+        assertFalse(bitmap.contains(1));
+        int[] rows = bitmap.toArray();
+        assertEquals(ARRAY_MAX, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(i * 2, rows[i]);
+        }
+
+        bitmap.add(5);   // and up again from the array form
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(5));
+    }
+
+    @Test
+    public void rowsEitherSideOfAChunkEdgeStaySeparate() {
+        RowBitmap bitmap = new RowBitmap();
+        bitmap.add(CHUNK - 1);
+        bitmap.add(CHUNK);
+        bitmap.add(2 * CHUNK);
+        bitmap.add(0);
+        assertArrayEquals(new int[] {0, CHUNK - 1, CHUNK, 2 * CHUNK}, bitmap.toArray());
+        assertFalse(bitmap.contains(CHUNK + 1));
+        assertFalse(bitmap.contains(2 * CHUNK - 1));
+
+        bitmap.remove(CHUNK);   // last row of its chunk - chunk goes away
+        assertArrayEquals(new int[] {0, CHUNK - 1, 2 * CHUNK}, bitmap.toArray());
+        bitmap.remove(CHUNK);
+        assertEquals(3, bitmap.cardinality());
+    }
+
+    @Test
+    public void fullChunkHoldsEveryLowValue() {
+        RowBitmap bitmap = new RowBitmap();
+        for (int row = CHUNK; row < 2 * CHUNK; row++) {
+            bitmap.add(row);
+        }
+        assertEquals(CHUNK, bitmap.cardinality());
+        assertFalse(bitmap.contains(CHUNK - 1));
+        assertFalse(bitmap.contains(2 * CHUNK));
+        int[] rows = bitmap.toArray();
+        assertEquals(CHUNK, rows[0]);
+        assertEquals(2 * CHUNK - 1, rows[rows.length - 1]);
+
+        for (int row = CHUNK; row < 2 * CHUNK; row++) {
+            bitmap.remove(row);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void andOrMatchSetsAcrossContainerForms() {
+        Random random = new Random(42);
+        // dense first chunk, sparse second, one chunk only on each side
+        RowBitmap a = new RowBitmap();
+        RowBitmap b = new RowBitmap();
+        TreeSet<Integer> setA = new TreeSet<>();
+        TreeSet<Integer> setB = new TreeSet<>();
+        for (int k = 0; k < 20000; k++) {
+            int row = random.nextInt(CHUNK);
+            a.add(row);
+            setA.add(row);
+        }
+        for (int k = 0; k < 30000; k++) {
+            int row = random.nextInt(CHUNK);
+            b.add(row);
+            setB.add(row);
+        }
+        for (int k = 0; k < 500; k++) {
+            int row = CHUNK + random.nextInt(CHUNK);
+            a.add(row);
+            setA.add(row);
+            row = CHUNK + random.nextInt(CHUNK);
+            b.add(row);
+            setB.add(row);
+        }
+        for (int k = 0; k < 100; k++) {
+            int row = 3 * CHUNK + random.nextInt(CHUNK);
+            a.add(row);
+            setA.add(row);
+            row = 5 * CHUNK + random.nextInt(CHUNK);
+            b.add(row);
+            setB.add(row);
+        }
+
+        TreeSet<Integer> both = new TreeSet<>(setA);
+        both.retainAll(setB);
+        TreeSet<Integer> either = new TreeSet<>(setA);
+        either.addAll(setB);
+
+        assertArrayEquals(toArray(both), a.and(b).toArray());
+        assertArrayEquals(toArray(both), b.and(a).toArray());
+        assertArrayEquals(toArray(either), a.or(b).toArray());
+        assertArrayEquals(toArray(either), b.or(a).toArray());
+
+        // operands unchanged
+        assertArrayEquals(toArray(setA), a.toArray());
+        assertArrayEquals(toArray(setB), b.toArray());
+    }
+
+    @Test
+    public void orOfTwoSparseChunksCanTurnDense() {
+        RowBitmap evens = new RowBitmap();
+        RowBitmap odds = new RowBitmap();
+        for (int row = 0; row < 2 * ARRAY_MAX; row += 2) {
+            evens.add(row);
+            odds.add(row + 1);
+        }
+        RowBitmap union = evens.or(odds);
+        assertEquals(2 * ARRAY_MAX, union.cardinality());   // 8192 rows - past the array limit
+        assertTrue(evens.and(odds).isEmpty());
+        assertEquals(ARRAY_MAX, union.and(evens).cardinality());
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        RowBitmap bitmap = new RowBitmap();
+        for (int row = 0; row <= ARRAY_MAX; row++) {
+            bitmap.add(row);
+        }
+        RowBitmap copy = bitmap.copy();
+        bitmap.remove(0);
+        copy.add(CHUNK);
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+        assertEquals(ARRAY_MAX + 2, copy.cardinality());
+        assertTrue(copy.contains(0));
+        assertFalse(bitmap.contains(CHUNK));
+    }
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        int[] rows = new int[set.size()];
+        int n = 0;
+        for (int row : set) {
+            rows[n++] = row;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,83 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.PrisonerModel;
+import model.VisitRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * SnapshotStoreTest - Checkpoint files written and read back
+ *
+ * @author Anjal Bhattarai
+ */
+public class SnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void stateRoundTrip() throws IOException {
+        List<PrisonerModel> prisoners = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Repeated inline crime type: learned by the stream codec after the first record
+            prisoners.add(new PrisonerModel(101 + i, "कैदी " + i, 20 + i % 50, "Other", "Ward " + i,
+                i % 2 == 0 ? "Poaching" : "Theft", null, LocalDate.of(1950 + i % 40, 1 + i % 12, 1),
+                6 + i, "Dhulikhel Jail, Kavre", "F" + i, null, "Active"));
+        }
+        List<PrisonerModel> trash = Arrays.asList(
+            new PrisonerModel(90, "Old One", 70, "Male", "Bhaktapur", "Fraud", "Ledger",
+                LocalDate.of(1961, 2, 3), 12, "Central Jail, Kathmandu", "F90", "images/90.png"));
+        List<VisitRequest> visits = Arrays.asList(
+            new VisitRequest(3, 101, "कैदी 0", "Maya", "Spouse", LocalDate.of(2030, 1, 1), "Talk",
+                "Approved", LocalDateTime.of(2029, 12, 1, 10, 0), "Bring ID"));
+
+        SnapshotStore store = new SnapshotStore(folder.getRoot().toPath().resolve("prisoners.snap"));
+        store.write(7, new RepositoryState(prisoners, trash, visits, 9000));
+        SnapshotStore.Image image = store.read();
+
+        assertEquals(7, image.getGeneration());
+        RepositoryState state = image.getState();
+        assertEquals(9000, state.getNextPrisonerId());
+        assertEquals(500, state.getPrisoners().size());
+        for (int i = 0; i < 500; i++) {
+            PrisonerModel expected = prisoners.get(i);
+            PrisonerModel actual = state.getPrisoners().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getCrimeType(), actual.getCrimeType());
+            assertEquals(expected.getPrisonLocation(), actual.getPrisonLocation());
+            assertEquals(expected.getAdmissionDate(), actual.getAdmissionDate());
+            assertEquals(expected.getReleaseDate(), actual.getReleaseDate());
+        }
+        assertEquals("images/90.png", state.getTrash().get(0).getPhotoPath());
+        assertEquals("Bring ID", state.getVisitRequests().get(0).getAdminNotes());
+        assertFalse(Files.exists(store.getPath().resolveSibling("prisoners.snap.tmp")));
+    }
+
+    @Test
+    public void corruptSnapshotIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prisoners.snap");
+        SnapshotStore store = new SnapshotStore(file);
+        store.write(1, new RepositoryState(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), 101));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        try {
+            store.read();
+            fail("corrupt snapshot accepted");
+        } catch (IOException expected) {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.LinkedList;
+import model.PrisonerModel;
+import org.junit.Test;
+
+/**
+ * SortedIdIndexTest - Ordered inserts, out-of-order restores and ID ranges
+ *
+ * @author Anjal Bhattarai
+ */
+public class SortedIdIndexTest {
+
+    private static PrisonerModel prisoner(int id) {
+        return new PrisonerModel(id, "Prisoner " + id, 30, "Male", "Kathmandu", "Theft", "d",
+                LocalDate.of(2020, 1, 1), 12, "Central Jail, Kathmandu", "F" + id, null);
+    }
+
+    private static SortedIdIndex indexOf(int... ids) {
+        SortedIdIndex index = new SortedIdIndex();
+        for (int id : ids) {
+            index.insert(prisoner(id));
+        }
+        return index;
+    }
+
+    private static int[] ids(LinkedList<PrisonerModel> prisoners) {
+        int[] result = new int[prisoners.size()];
+        int n = 0;
+        for (PrisonerModel p : prisoners) {
+            result[n++] = p.getPrisonerId();
+        }
+        return result;
+    }
+
+    @Test
+    public void outOfOrderInsertsKeepIdsSorted() {
+        SortedIdIndex index = indexOf(105, 110, 101, 120, 103, 111);
+        assertEquals(6, index.size());
+        int[] expected = {101, 103, 105, 110, 111, 120};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], index.idAt(i));
+            assertEquals(expected[i], index.prisonerAt(i).getPrisonerId());
+        }
+    }
+
+    @Test
+    public void insertWithExistingIdReplacesTheRecord() {
+        SortedIdIndex index = indexOf(101, 102, 103);
+        PrisonerModel updated = prisoner(102);
+        index.insert(updated);
+        assertEquals(3, index.size());
+        assertSame(updated, index.prisonerAt(index.indexOf(102)));
+    }
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        SortedIdIndex index = new SortedIdIndex();
+        for (int id = 1000; id > 0; id -= 2) {   // descending: every insert shifts the tail
+            index.insert(prisoner(id));
+        }
+        for (int id = 1; id < 1000; id += 2) {
+            index.insert(prisoner(id));
+        }
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1, index.idAt(i));
+        }
+    }
+
+    @Test
+    public void removeClosesTheGap() {
+        SortedIdIndex index = indexOf(101, 102, 103, 104);
+        assertTrue(index.remove(102));
+        assertFalse(index.remove(102));
+        assertEquals(3, index.size());
+        assertEquals(-2, index.indexOf(102));   // insertion point 1
+        assertArrayEquals(new int[] {101, 103, 104}, ids(index.range(0, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void rangeIsInclusiveAndToleratesMissingBounds() {
+        SortedIdIndex index = indexOf(101, 103, 105, 107, 109);
+        assertArrayEquals(new int[] {103, 105, 107}, ids(index.range(103, 107)));
+        assertArrayEquals(new int[] {103, 105, 107}, ids(index.range(102, 108)));
+        assertArrayEquals(new int[] {101}, ids(index.range(0, 101)));
+        assertArrayEquals(new int[] {109}, ids(index.range(109, 500)));
+        assertArrayEquals(new int[0], ids(index.range(110, 500)));
+        assertArrayEquals(new int[0], ids(index.range(104, 104)));
+        assertArrayEquals(new int[0], ids(index.range(107, 103)));
+    }
+
+    @Test
+    public void countRangeMatchesRange() {
+        SortedIdIndex index = indexOf(101, 103, 105, 107, 109);
+        int[][] bounds = {{103, 107}, {102, 108}, {0, 101}, {109, 500}, {110, 500}, {104, 104}, {107, 103}, {0, 0}};
+        for (int[] b : bounds) {
+            assertEquals(b[0] + ".." + b[1], index.range(b[0], b[1]).size(), index.countRange(b[0], b[1]));
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheIndex() {
+        SortedIdIndex index = indexOf(101, 102);
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.countRange(0, Integer.MAX_VALUE));
+        index.insert(prisoner(50));
+        assertEquals(50, index.idAt(0));
+    }
+}
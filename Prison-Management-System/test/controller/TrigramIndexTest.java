@@ -0,0 +1,122 @@
+package controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import model.PrisonerModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * TrigramIndexTest - Posting list intersection and verification of substring matches
+ *
+ * @author Anjal Bhattarai
+ */
+public class TrigramIndexTest {
+
+    private final List<PrisonerModel> all = new ArrayList<>();
+    private PrisonerIndex index;
+    private TrigramIndex trigrams;
+
+    @Before
+    public void setUp() {
+        index = new PrisonerIndex();
+        trigrams = new TrigramIndex();
+        add(101, "Ram Bahadur Thapa", "Theft");
+        add(102, "Sita Thapaliya", "Fraud");
+        add(103, "Hari Shrestha", "Drug Trafficking");
+        add(104, "Gita Rana", "Human Trafficking");
+        add(105, "Krishna Prasad", "Theft");
+        add(106, "Bhim Raha", "Forgery");
+    }
+
+    private void add(int id, String name, String crime) {
+        PrisonerModel p = new PrisonerModel(id, name, 30, "Male", "Kathmandu", crime, "d",
+                LocalDate.of(2020, 1, 1), 12, "Central Jail, Kathmandu", "F" + id, null);
+        all.add(p);
+        index.add(p);
+        trigrams.add(p);
+    }
+
+    @Test
+    public void searchMatchesNameOrCrimeIgnoringCase() {
+        assertIds(trigrams.search(index, "THAPA"), 101, 102);
+        assertIds(trigrams.search(index, "trafficking"), 103, 104);
+        assertIds(trigrams.search(index, "  theft "), 101, 105);
+        assertIds(trigrams.search(index, "xyz"));
+    }
+
+    @Test
+    public void candidatesAreVerifiedAgainstTheText() {
+        add(107, "Anan", "Arson");
+        // "anana" needs only "ana" and "nan", which "anan" has - but not in a row
+        assertArrayEquals(new int[] {107}, trigrams.candidates("anana"));
+        assertIds(trigrams.search(index, "anana"));
+        assertIds(trigrams.search(index, "anan"), 107);
+    }
+
+    @Test
+    public void noTrigramSpansNameAndCrime() {
+        TrigramIndex single = new TrigramIndex();
+        single.add(new PrisonerModel(1, "Om", 30, "Male", "Kathmandu", "Arson", "d",
+                LocalDate.of(2020, 1, 1), 12, "Central Jail, Kathmandu", "F1", null));
+        assertEquals(3, single.trigramCount());   // ars, rso, son
+        assertArrayEquals(new int[0], single.candidates("mar"));
+        assertArrayEquals(new int[] {1}, single.candidates("arson"));
+    }
+
+    @Test
+    public void removeDropsPostingsAndEmptyLists() {
+        int before = trigrams.trigramCount();
+        PrisonerModel forger = all.get(5);
+        trigrams.remove(forger);
+        assertIds(trigrams.search(index, "forgery"));
+        assertTrue(trigrams.trigramCount() < before);
+
+        trigrams.add(forger);
+        assertEquals(before, trigrams.trigramCount());
+        assertIds(trigrams.search(index, "forg"), 106);
+    }
+
+    @Test
+    public void indexAgreesWithAScan() {
+        String[] terms = {"tha", "hap", "ing", "ris", "ft", "raft", "sita thapa", "han"};
+        for (String term : terms) {
+            if (!TrigramIndex.canSearch(term)) {
+                assertFalse(term.length() >= 3);
+                continue;
+            }
+            LinkedList<PrisonerModel> expected = new LinkedList<>();
+            for (PrisonerModel p : all) {
+                if (TrigramIndex.matches(p, term.toLowerCase(Locale.ROOT))) {
+                    expected.add(p);
+                }
+            }
+            assertEquals(term, expected, trigrams.search(index, term));
+        }
+    }
+
+    @Test
+    public void shortTermsCannotUseTheIndex() {
+        assertFalse(TrigramIndex.canSearch(null));
+        assertFalse(TrigramIndex.canSearch("ab"));
+        assertFalse(TrigramIndex.canSearch("  ab  "));
+        assertTrue(TrigramIndex.canSearch("abc"));
+    }
+
+    private static void assertIds(LinkedList<PrisonerModel> found, int... ids) {
+        int[] actual = new int[found.size()];
+        int n = 0;
+        for (PrisonerModel p : found) {
+            actual[n++] = p.getPrisonerId();
+        }
+        assertArrayEquals(ids, actual);
+    }
+}
@@ -0,0 +1,175 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import model.PrisonerModel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * WriteAheadLogTest - Frames, recovery and torn-tail truncation
+ *
+ * @author Anjal Bhattarai
+ */
+public class WriteAheadLogTest {
+
+    private static final int HEADER_BYTES = 24;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordsRoundTrip() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prisoners.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            log.logPrisonerPut(prisoner(101, "Bikash तामाङ"));
+            log.logPrisonerStatus(101, "Parole");
+            log.logPrisonerDelete(101);
+            log.logTrashRestore(101);
+            log.logTrashEmpty();
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<WriteAheadLog.Record> records = log.getRecoveredRecords();
+            assertEquals(5, records.size());
+            assertEquals(WriteAheadLog.PRISONER_PUT, records.get(0).getType());
+            PrisonerModel p = ModelCodec.STATELESS.readPrisoner(records.get(0).reader());
+            assertEquals("Bikash तामाङ", p.getName());
+            assertEquals(LocalDate.of(1965, 7, 1), p.getAdmissionDate());
+
+            ModelCodec.Reader status = records.get(1).reader();
+            assertEquals(101, status.readVarInt());
+            assertEquals("Parole", ModelCodec.STATELESS.readCategory(status, ModelCodec.PRISONER_STATUS));
+            assertEquals(WriteAheadLog.TRASH_EMPTY, records.get(4).getType());
+        }
+    }
+
+    @Test
+    public void tornTailIsTruncated() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prisoners.wal");
+        long goodSize;
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            log.logPrisonerPut(prisoner(101, "Ram"));
+            log.logPrisonerPut(prisoner(102, "Shyam"));
+            goodSize = log.sizeBytes();
+            log.logPrisonerPut(prisoner(103, "Hari"));
+        }
+        // Crash mid-write: only part of the third frame reached the disk
+        long fullSize = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(fullSize - 5);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(2, log.getRecoveredRecords().size());
+            assertEquals(goodSize, Files.size(file));
+            // Appends continue right after the last good frame
+            log.logPrisonerDelete(102);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<WriteAheadLog.Record> records = log.getRecoveredRecords();
+            assertEquals(3, records.size());
+            assertEquals(WriteAheadLog.PRISONER_DELETE, records.get(2).getType());
+        }
+    }
+
+    @Test
+    public void corruptFrameAndEverythingAfterItIsDropped() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prisoners.wal");
+        long firstFrameEnd;
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            log.logPrisonerStatus(101, "Released");
+            firstFrameEnd = log.sizeBytes();
+            log.logPrisonerStatus(102, "Released");
+            log.logPrisonerStatus(103, "Released");
+        }
+        // Flip one payload byte of the second frame: its CRC no longer matches
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long at = firstFrameEnd + 9;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, at);
+            b.put(0, (byte) (b.get(0) ^ 0x40));
+            b.rewind();
+            channel.write(b, at);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(1, log.getRecoveredRecords().size());
+            assertEquals(firstFrameEnd, Files.size(file));
+        }
+    }
+
+    @Test
+    public void startGenerationEmptiesTheLog() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prisoners.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(0, log.getGeneration());
+            log.logTrashEmpty();
+            log.startGeneration(4);
+            assertEquals(HEADER_BYTES, log.sizeBytes());
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(4, log.getGeneration());
+            assertTrue(log.getRecoveredRecords().isEmpty());
+        }
+    }
+
+    @Test
+    public void closedLogRefusesAppends() throws IOException {
+        WriteAheadLog log = new WriteAheadLog(folder.getRoot().toPath().resolve("prisoners.wal"));
+        log.close();
+        try {
+            log.logTrashEmpty();
+            fail("append after close");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignFileIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("notes.txt");
+        Files.write(file, "these are not log records at all".getBytes("UTF-8"));
+        new WriteAheadLog(file).close();
+    }
+
+    @Test
+    public void rejectedFileIsNotLeftOpen() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("notes.txt");
+        Files.write(file, "these are not log records at all".getBytes("UTF-8"));
+        long before = openFileCount();
+        try {
+            new WriteAheadLog(file);
+            fail("foreign file accepted");
+        } catch (IOException expected) {
+        }
+        assertEquals(before, openFileCount());
+        Files.delete(file);   // an open handle would block this on Windows
+    }
+
+    // Open descriptors of this JVM where the OS lists them (Linux), else -1
+    private static long openFileCount() throws IOException {
+        Path fds = Paths.get("/proc/self/fd");
+        if (!Files.isDirectory(fds)) {
+            return -1;
+        }
+        try (Stream<Path> entries = Files.list(fds)) {
+            return entries.count();
+        }
+    }
+
+    private static PrisonerModel prisoner(int id, String name) {
+        return new PrisonerModel(id, name, 30, "Male", "Kathmandu", "Theft", "Stole a bike",
+            LocalDate.of(1965, 7, 1), 24, "Central Jail, Kathmandu", "F" + id, null);
+    }
+}